@@ -0,0 +1,47 @@
+package com.formaos.benchmarks;
+
+import com.formaos.utils.ConfigReader;
+import com.formaos.utils.DriverFactory;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+
+/**
+ * One browser (config.properties browser and headless settings) and one
+ * fixture site per trial, launched outside the measured region.
+ */
+@State(Scope.Thread)
+public abstract class BrowserBenchmark {
+
+    protected final ConfigReader config = new ConfigReader();
+    protected FixtureSite site;
+    protected WebDriver driver;
+
+    @Setup(Level.Trial)
+    public void openBrowser() throws IOException {
+        site = FixtureSite.start();
+        driver = DriverFactory.createDriver(config.getBrowser());
+        prepare();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeBrowser() {
+        if (driver != null) {
+            driver.quit();
+        }
+        if (site != null) {
+            site.close();
+        }
+    }
+
+    /**
+     * Per-trial setup once the browser is up.
+     */
+    protected void prepare() {
+    }
+}
@@ -0,0 +1,68 @@
+package com.formaos.benchmarks;
+
+import com.formaos.utils.ConfigReader;
+import com.formaos.utils.DriverFactory;
+import com.formaos.utils.DriverPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What a test pays for its browser: a cold DriverFactory launch versus a
+ * pooled session being reset and handed out again.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DriverStartupBenchmark {
+
+    private final String browser = new ConfigReader().getBrowser();
+    private WebDriver launched;
+
+    /**
+     * One launch per iteration; quitting happens outside the measurement.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 10)
+    public WebDriver launch() {
+        launched = DriverFactory.createDriver(browser);
+        return launched;
+    }
+
+    /**
+     * Acquire from and release to the pool: the per-test cost once warm.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public void pooledAcquireRelease() {
+        DriverFactory.releaseDriver(DriverFactory.getDriver(browser));
+    }
+
+    @TearDown(Level.Iteration)
+    public void quitLaunched() {
+        if (launched != null) {
+            launched.quit();
+            launched = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdownPool() {
+        DriverPool.getInstance().shutdown();
+    }
+}
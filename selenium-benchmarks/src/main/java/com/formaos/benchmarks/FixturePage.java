@@ -0,0 +1,32 @@
+package com.formaos.benchmarks;
+
+import com.formaos.pages.BasePage;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Page object for fixture/home.html, going through the same BasePage
+ * waits (and command-counting driver) as the suite's page objects.
+ */
+public class FixturePage extends BasePage {
+
+    static final By HEADLINE = By.id("headline");
+    static final By COUNTER = By.id("counter");
+    static final By LATE = By.id("late");
+
+    public FixturePage(WebDriver driver) {
+        super(driver);
+    }
+
+    public void clickCounter() {
+        click(COUNTER);
+    }
+
+    public String getHeadline() {
+        return getText(HEADLINE);
+    }
+
+    public String getLateText() {
+        return getText(LATE);
+    }
+}
@@ -0,0 +1,74 @@
+package com.formaos.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+
+/**
+ * Static fixture pages from the classpath (fixture/*.html) on a loopback
+ * port, plus /api/ping?delay=ms for a request that stays in flight. Keeps
+ * benchmarks independent of the app and of the network.
+ */
+public final class FixtureSite implements AutoCloseable {
+
+    private final HttpServer server;
+
+    private FixtureSite(HttpServer server) {
+        this.server = server;
+    }
+
+    public static FixtureSite start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api/ping", FixtureSite::ping);
+        server.createContext("/", FixtureSite::page);
+        server.start();
+        return new FixtureSite(server);
+    }
+
+    public String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static void page(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String name = path.equals("/") ? "home.html" : path.substring(1);
+        try (InputStream page = name.contains("..") ? null
+                : FixtureSite.class.getResourceAsStream("/fixture/" + name)) {
+            if (page == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] body = page.readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void ping(HttpExchange exchange) throws IOException {
+        String query = exchange.getRequestURI().getQuery();
+        long delay = query != null && query.startsWith("delay=") ? Long.parseLong(query.substring(6)) : 0;
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exchange.sendResponseHeaders(204, -1);
+        exchange.close();
+    }
+}
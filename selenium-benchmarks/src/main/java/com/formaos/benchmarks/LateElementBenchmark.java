@@ -0,0 +1,45 @@
+package com.formaos.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BasePage.getText on an element that appears lateMillis after the page
+ * loads. Time above lateMillis is the wait's polling overshoot.
+ */
+@Fork(1)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 15)
+public class LateElementBenchmark extends BrowserBenchmark {
+
+    @Param({"0", "100", "300"})
+    public int lateMillis;
+
+    private FixturePage page;
+
+    /**
+     * Reload per measurement so the element is hidden again; not timed.
+     */
+    @Setup(Level.Iteration)
+    public void reload() {
+        driver.get(site.url("/home.html?late=" + lateMillis));
+        page = new FixturePage(driver);
+    }
+
+    @Benchmark
+    public String waitForLateText() {
+        return page.getLateText();
+    }
+}
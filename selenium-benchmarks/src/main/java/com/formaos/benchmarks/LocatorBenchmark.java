@@ -0,0 +1,63 @@
+package com.formaos.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HomePage's locators, CSS and their XPath equivalents, resolved with
+ * findElements on the fixture homepage.
+ */
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LocatorBenchmark extends BrowserBenchmark {
+
+    @Param({
+        "css:a[href='/contact']",
+        "xpath://a[@href='/contact']",
+        "css:a[href='/auth'], a[href='/auth/signup']",
+        "xpath://a[@href='/auth' or @href='/auth/signup']",
+        "xpath://a[contains(text(), 'Login')]",
+        "css:a[href='/auth/signin']"
+    })
+    public String locator;
+
+    private By by;
+
+    @Override
+    protected void prepare() {
+        driver.get(site.url("/home.html"));
+        by = parse(locator);
+        if (driver.findElements(by).isEmpty()) {
+            throw new IllegalStateException("Locator matches nothing on the fixture page: " + locator);
+        }
+    }
+
+    @Benchmark
+    public List<WebElement> findElements() {
+        return driver.findElements(by);
+    }
+
+    static By parse(String locator) {
+        if (locator.startsWith("css:")) {
+            return By.cssSelector(locator.substring(4));
+        }
+        if (locator.startsWith("xpath:")) {
+            return By.xpath(locator.substring(6));
+        }
+        throw new IllegalArgumentException("Locator must start with css: or xpath: " + locator);
+    }
+}
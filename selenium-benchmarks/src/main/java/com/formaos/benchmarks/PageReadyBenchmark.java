@@ -0,0 +1,49 @@
+package com.formaos.benchmarks;
+
+import com.formaos.utils.PageReadiness;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Navigation plus the harness's page-ready wait (what waitForPageLoad
+ * runs), against navigation alone. fetchMillis keeps one request in flight
+ * after load, so the wait has network idleness to wait for.
+ */
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+public class PageReadyBenchmark extends BrowserBenchmark {
+
+    @Param({"0", "250"})
+    public int fetchMillis;
+
+    private PageReadiness readiness;
+    private String url;
+
+    @Override
+    protected void prepare() {
+        readiness = new PageReadiness(driver, config);
+        url = site.url("/home.html" + (fetchMillis > 0 ? "?fetch=" + fetchMillis : ""));
+    }
+
+    @Benchmark
+    public long navigateAndWaitForPageReady() {
+        driver.get(url);
+        return readiness.waitForPageReady();
+    }
+
+    @Benchmark
+    public void navigateOnly() {
+        driver.get(url);
+    }
+}
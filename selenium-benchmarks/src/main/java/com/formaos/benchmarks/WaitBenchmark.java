@@ -0,0 +1,52 @@
+package com.formaos.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BasePage.click/getText (explicit wait, then act) against the bare
+ * WebDriver calls on an element that is already there: the difference is
+ * what the wait wrapper costs per call when nothing needs waiting for.
+ */
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class WaitBenchmark extends BrowserBenchmark {
+
+    private FixturePage page;
+
+    @Override
+    protected void prepare() {
+        driver.get(site.url("/home.html"));
+        page = new FixturePage(driver);
+    }
+
+    @Benchmark
+    public void basePageClick() {
+        page.clickCounter();
+    }
+
+    @Benchmark
+    public void driverClick() {
+        driver.findElement(FixturePage.COUNTER).click();
+    }
+
+    @Benchmark
+    public String basePageGetText() {
+        return page.getHeadline();
+    }
+
+    @Benchmark
+    public String driverGetText() {
+        return driver.findElement(FixturePage.HEADLINE).getText();
+    }
+}
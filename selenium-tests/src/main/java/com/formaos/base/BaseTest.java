@@ -1,41 +1,135 @@
 package com.formaos.base;
 
+import com.formaos.utils.AuthService;
+import com.formaos.utils.AuthSession;
 import com.formaos.utils.ConfigReader;
 import com.formaos.utils.DriverFactory;
+import com.formaos.utils.DriverManager;
+import com.formaos.utils.DriverPool;
+import com.formaos.utils.FixtureServer;
+import com.formaos.utils.Log;
+import com.formaos.utils.NetworkControl;
+import com.formaos.utils.PageReadiness;
+import com.formaos.utils.PerformanceBudgets;
+import com.formaos.utils.PhaseTimer;
+import com.formaos.utils.RedirectChain;
+import com.formaos.utils.RedirectTracer;
+import com.formaos.utils.RetryAnalyzer;
+import com.formaos.utils.ScreencastRecorder;
 import com.formaos.utils.ScreenshotUtil;
+import com.formaos.utils.StreamingReporter;
+import com.formaos.utils.TestRouteMap;
+import com.formaos.utils.WebVitals;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.ITestContext;
 import org.testng.ITestResult;
+import org.testng.Reporter;
 import org.testng.annotations.*;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Base Test class that all test classes should extend.
  * Handles WebDriver initialization, configuration, and cleanup.
+ * Browsers come from a shared pool and are reset between tests rather
+ * than relaunched.
+ *
+ * The driver, config and readiness helper are held per thread in
+ * {@link DriverManager}, so TestNG may run methods of the same instance
+ * in parallel. Always go through {@link #getDriver()}.
+ *
+ * Setup, navigation, waits, screenshots and teardown are timed through
+ * {@link PhaseTimer}; the TestListener reports the slowest at suite end.
+ *
+ * Tests annotated {@code @TestTier(Tier.HTTP)} get no browser at all and
+ * check routing with {@link #traceRoute(String)}.
+ *
+ * Log through {@link #log}; every line a test writes carries its name,
+ * browser and session id (see {@link Log}).
  */
 public class BaseTest {
     
-    protected WebDriver driver;
-    protected ConfigReader config;
+    private static final String NO_DRIVER =
+        "No WebDriver on this thread: the test is @TestTier(Tier.HTTP); use traceRoute instead";
+    
+    protected final Logger log = Log.get(getClass());
     protected String baseUrl;
     
     @BeforeClass
     @Parameters({"browser", "baseUrl"})
-    public void setupClass(@Optional("chrome") String browser, 
+    public void setupClass(@Optional("") String browser, 
                           @Optional("http://localhost:3000") String url) {
-        config = new ConfigReader();
-        baseUrl = url;
-        System.out.println("=== Test Class Setup ===");
-        System.out.println("Browser: " + browser);
-        System.out.println("Base URL: " + baseUrl);
+        // Points at the record/replay fixture server when fixture.mode is set
+        baseUrl = FixtureServer.route(url);
+        log.info("Test class setup: browser {}, base URL {}",
+            browser.isBlank() ? new ConfigReader().getBrowser() : browser, baseUrl);
     }
     
     @BeforeMethod
-    public void setup() {
-        System.out.println("\n--- Starting Test ---");
+    public void setup(ITestContext context, Method method) {
+        String test = method.getDeclaringClass().getName() + "." + method.getName();
+        PhaseTimer.beginTest(test);
+        if (tierOf(method) == Tier.HTTP) {
+            Log.beginTest(test, null, null);
+            log.info("Starting test (HTTP tier: no WebDriver acquired)");
+            return;
+        }
         
-        // Initialize WebDriver
-        driver = DriverFactory.getDriver(config.getBrowser());
+        // Initialize WebDriver for this thread
+        ConfigReader config = getConfig();
+        String browser = browserFor(context, config);
+        WebDriver driver = PhaseTimer.time("driver.acquire", browser, () -> DriverFactory.getDriver(browser));
+        DriverManager.setDriver(driver);
+        Log.beginTest(test, browser, driver);
         
+        try (PhaseTimer.Phase ignored = PhaseTimer.start("setup", null)) {
+            configureSession(driver, config, context);
+        } catch (RuntimeException | Error e) {
+            // TestNG skips tearDown after a failed @BeforeMethod; without this
+            // the leased session would hold its pool slot for the rest of the run
+            DriverManager.removeDriver();
+            DriverFactory.markForDisposal(driver);
+            DriverFactory.releaseDriver(driver);
+            log.warn("Session setup failed; WebDriver disposed", e);
+            Log.endTest();
+            throw e;
+        }
+        
+        log.info("Starting test: WebDriver initialized");
+    }
+    
+    /**
+     * The "browser" parameter of the current &lt;test&gt; (set per copy in
+     * matrix mode), else config.properties.
+     */
+    private String browserFor(ITestContext context, ConfigReader config) {
+        String browser = context.getCurrentXmlTest().getParameter("browser");
+        return browser == null || browser.isBlank() ? config.getBrowser() : browser.trim();
+    }
+    
+    /**
+     * Tier declared on the method, else on the test class, else BROWSER.
+     */
+    private Tier tierOf(Method method) {
+        TestTier tier = method.getAnnotation(TestTier.class);
+        if (tier == null) {
+            tier = getClass().getAnnotation(TestTier.class);
+        }
+        return tier == null ? Tier.BROWSER : tier.value();
+    }
+    
+    /**
+     * Timeouts, window, readiness and vitals hooks and network rules for a
+     * freshly acquired session.
+     */
+    private void configureSession(WebDriver driver, ConfigReader config, ITestContext context) {
         // Configure timeouts
         driver.manage().timeouts().implicitlyWait(
             Duration.ofSeconds(config.getImplicitWait())
@@ -43,37 +137,185 @@ public class BaseTest {
         driver.manage().timeouts().pageLoadTimeout(
             Duration.ofSeconds(config.getPageLoadTimeout())
         );
+        driver.manage().timeouts().scriptTimeout(
+            Duration.ofSeconds(config.getScriptTimeout())
+        );
         
         // Maximize window
         driver.manage().window().maximize();
         
-        System.out.println("WebDriver initialized successfully");
+        DriverManager.setReadiness(new PageReadiness(driver, config));
+        if (config.isPerfCaptureEnabled()) {
+            WebVitals.install(driver);
+        }
+        configureNetwork(driver, config, context);
+        DriverManager.setScreencast(ScreencastRecorder.attach(driver, config));
     }
     
     @AfterMethod
     public void tearDown(ITestResult result) {
-        System.out.println("\n--- Test Completed ---");
-        System.out.println("Test Status: " + (result.isSuccess() ? "PASSED" : "FAILED"));
+        log.info("Test completed: {}", result.isSuccess() ? "PASSED" : "FAILED");
+        WebDriver driver = getDriver();
+        
+        // Report what the DevTools network layer blocked or stubbed
+        NetworkControl network = DriverManager.getNetworkControl();
+        if (network != null) {
+            Map<String, Long> counters = network.drainCounters();
+            result.setAttribute("network", counters);
+            log.info("Network: {}", counters);
+        }
+        
+        // Keep the last seconds of screen only when the test failed
+        ScreencastRecorder screencast = DriverManager.getScreencast();
+        if (screencast != null) {
+            if (result.isSuccess()) {
+                screencast.discard();
+            } else {
+                String screencastPath = PhaseTimer.time("screencast", null,
+                    () -> screencast.saveFailure(result.getMethod().getMethodName()));
+                log.info("Screencast saved: {}", screencastPath);
+                StreamingReporter.evidence(result, "screencast", screencastPath);
+            }
+        }
         
         // Take screenshot on failure
         if (!result.isSuccess() && driver != null) {
-            String screenshotPath = ScreenshotUtil.captureScreenshot(
+            String screenshotPath = PhaseTimer.time("screenshot", null, () -> ScreenshotUtil.captureScreenshot(
                 driver, 
                 result.getMethod().getMethodName()
-            );
-            System.out.println("Screenshot saved: " + screenshotPath);
+            ));
+            log.info("Screenshot saved: {}", screenshotPath);
+            StreamingReporter.evidence(result, "screenshot", screenshotPath);
+        }
+        
+        // A session that crashed or hung is not handed to the retry
+        if (!result.isSuccess() && driver != null && RetryAnalyzer.infrastructureCause(result.getThrowable()) != null) {
+            DriverFactory.markForDisposal(driver);
         }
         
-        // Close browser
+        // Return browser to the pool (quits it when pooling is disabled)
         if (driver != null) {
-            driver.quit();
-            System.out.println("WebDriver closed");
+            DriverManager.removeDriver();
+            PhaseTimer.time("teardown", null, () -> DriverFactory.releaseDriver(driver));
+            log.info("WebDriver released");
         }
+        PhaseTimer.endTest(result);
+        Log.endTest();
     }
     
     @AfterClass
     public void tearDownClass() {
-        System.out.println("\n=== Test Class Completed ===\n");
+        log.info("Test class completed");
+    }
+    
+    @AfterSuite(alwaysRun = true)
+    public void tearDownSuite() {
+        DriverPool pool = DriverPool.getInstance();
+        pool.shutdown();
+        log.info("Driver pool: {}", pool.getStats());
+        log.info("Driver startup: {}", DriverFactory.getStartupStats());
+        FixtureServer.shutdown();
+        
+        if (WebVitals.getSampleCount() > 0) {
+            try {
+                ConfigReader config = getConfig();
+                log.info("Web vitals written: {}", WebVitals.writeRun(Paths.get(config.getReportPath())));
+            } catch (IOException e) {
+                log.warn("Failed to write web vitals", e);
+            }
+        }
+    }
+    
+    /**
+     * Apply the DevTools block/stub lists. The network.blocking and
+     * network.blocklist parameters of the current testng.xml test (or suite)
+     * override config.properties.
+     */
+    private void configureNetwork(WebDriver driver, ConfigReader config, ITestContext context) {
+        String enabled = context.getCurrentXmlTest().getParameter("network.blocking");
+        boolean blocking = enabled == null ? config.isNetworkBlockingEnabled() : Boolean.parseBoolean(enabled);
+        String blocklist = context.getCurrentXmlTest().getParameter("network.blocklist");
+        
+        NetworkControl network = blocking
+            ? NetworkControl.configure(driver,
+                ConfigReader.splitList(blocklist == null ? config.getNetworkBlocklist() : blocklist),
+                config.getNetworkStubs())
+            : NetworkControl.configure(driver, List.of(), Map.of());
+        DriverManager.setNetworkControl(blocking ? network : null);
+    }
+    
+    /**
+     * Flag the current browser session as too dirty to reuse (e.g. the test
+     * installed a service worker or changed browser permissions). The pool
+     * quits it after this test instead of resetting it.
+     */
+    protected void markSessionForDisposal() {
+        WebDriver driver = getDriver();
+        if (driver != null) {
+            DriverFactory.markForDisposal(driver);
+        }
+    }
+    
+    /**
+     * WebDriver owned by the current test thread
+     */
+    protected WebDriver getDriver() {
+        return DriverManager.getDriver();
+    }
+    
+    private WebDriver requireDriver() {
+        WebDriver driver = getDriver();
+        if (driver == null) {
+            throw new IllegalStateException(NO_DRIVER);
+        }
+        return driver;
+    }
+    
+    private PageReadiness requireReadiness() {
+        PageReadiness readiness = DriverManager.getReadiness();
+        if (readiness == null) {
+            throw new IllegalStateException(NO_DRIVER);
+        }
+        return readiness;
+    }
+    
+    /**
+     * Configuration for the current test thread
+     */
+    protected ConfigReader getConfig() {
+        return DriverManager.getConfig();
+    }
+    
+    /**
+     * Sign this thread's browser in as a config.properties role ("test",
+     * "employer", "employee") over the API. Call before the first
+     * navigation; the next navigateTo is already authenticated.
+     */
+    protected AuthSession signInAs(String role) {
+        return PhaseTimer.time("sign-in", role, () -> AuthService.inject(getDriver(), baseUrl, role));
+    }
+    
+    /**
+     * Request a path over plain HTTP and follow its redirects, recording
+     * each hop. Works in both tiers; never touches the browser.
+     */
+    protected RedirectChain traceRoute(String path) {
+        return traceRoute(path, Map.of());
+    }
+    
+    /**
+     * Trace a path as a signed-in role (see {@link #signInAs(String)}).
+     */
+    protected RedirectChain traceRouteAs(String role, String path) {
+        return traceRoute(path, AuthService.getSession(role).getCookies());
+    }
+    
+    private RedirectChain traceRoute(String path, Map<String, String> cookies) {
+        RedirectChain chain = PhaseTimer.time("http", path,
+            () -> new RedirectTracer(getConfig()).trace(baseUrl + path, cookies));
+        chain.getHops().forEach(hop -> TestRouteMap.visit(baseUrl, hop.getUrl()));
+        log.info("Route {}:\n{}", path, chain);
+        return chain;
     }
     
     /**
@@ -81,40 +323,86 @@ public class BaseTest {
      */
     protected void navigateTo(String path) {
         String url = baseUrl + path;
-        System.out.println("Navigating to: " + url);
-        driver.get(url);
+        log.info("Navigating to: {}", url);
+        WebDriver driver = requireDriver();
+        PhaseTimer.time("navigation", path, () -> driver.get(url));
+        TestRouteMap.visit(baseUrl, path);
+        recordNavigationMetrics();
     }
     
     /**
      * Navigate to home page
      */
     protected void navigateToHome() {
-        System.out.println("Navigating to: " + baseUrl);
-        driver.get(baseUrl);
+        log.info("Navigating to: {}", baseUrl);
+        WebDriver driver = requireDriver();
+        PhaseTimer.time("navigation", "/", () -> driver.get(baseUrl));
+        TestRouteMap.visit(baseUrl, "/");
+        recordNavigationMetrics();
+    }
+    
+    /**
+     * Capture timings and web vitals for the page just loaded, attach them
+     * to the TestNG result and check them against the route's budgets.
+     */
+    @SuppressWarnings("unchecked")
+    protected void recordNavigationMetrics() {
+        ConfigReader config = getConfig();
+        if (!config.isPerfCaptureEnabled()) {
+            return;
+        }
+        Map<String, Object> snapshot = PhaseTimer.time("web-vitals", null, () -> WebVitals.collect(getDriver()));
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        
+        ITestResult result = Reporter.getCurrentTestResult();
+        String testName = result == null ? "unknown" : result.getMethod().getQualifiedName();
+        WebVitals.record(testName, snapshot);
+        if (result != null) {
+            List<Map<String, Object>> samples = (List<Map<String, Object>>) result.getAttribute("webVitals");
+            if (samples == null) {
+                samples = new ArrayList<>();
+                result.setAttribute("webVitals", samples);
+            }
+            samples.add(snapshot);
+        }
+        
+        String route = WebVitals.routeOf(String.valueOf(snapshot.get("url")));
+        log.info("Web vitals {}: {}", route, WebVitals.summarize(snapshot));
+        List<String> breaches = new PerformanceBudgets(config).check(route, snapshot);
+        for (String breach : breaches) {
+            log.warn("⚠️ Performance budget exceeded: {}", breach);
+        }
+        if (!breaches.isEmpty() && "fail".equalsIgnoreCase(config.getPerfBudgetMode())) {
+            Assert.fail("Performance budget exceeded: " + String.join("; ", breaches));
+        }
     }
     
     /**
      * Get current page title
      */
     protected String getPageTitle() {
-        return driver.getTitle();
+        return getDriver().getTitle();
     }
     
     /**
      * Get current URL
      */
     protected String getCurrentUrl() {
-        return driver.getCurrentUrl();
+        return getDriver().getCurrentUrl();
     }
     
     /**
-     * Wait for page to load completely
+     * Wait for page to load completely: document loaded, route change
+     * finished, network idle and URL settled after client-side redirects.
+     * Returns the time the wait actually took.
      */
-    protected void waitForPageLoad() {
-        try {
-            Thread.sleep(2000); // Simple wait for dynamic content
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+    protected long waitForPageLoad() {
+        PageReadiness readiness = requireReadiness();
+        long millis = PhaseTimer.time("wait", "page-ready", readiness::waitForPageReady);
+        // Where the page settled, after client-side redirects, for test impact analysis
+        TestRouteMap.visit(baseUrl, readiness.getLastReadyUrl());
+        return millis;
     }
 }
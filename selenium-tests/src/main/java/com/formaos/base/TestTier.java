@@ -0,0 +1,18 @@
+package com.formaos.base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the tier a test method (or every method of a class) runs on.
+ * {@code @TestTier(Tier.HTTP)} tests get no WebDriver; they use
+ * {@link BaseTest#traceRoute(String)} and plain HTTP clients instead.
+ * A method-level annotation overrides the class-level one.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface TestTier {
+    Tier value();
+}
@@ -0,0 +1,11 @@
+package com.formaos.base;
+
+/**
+ * What a test needs from the harness.
+ */
+public enum Tier {
+    /** A pooled WebDriver session (the default). */
+    BROWSER,
+    /** Plain HTTP only: no browser is acquired for the test. */
+    HTTP
+}
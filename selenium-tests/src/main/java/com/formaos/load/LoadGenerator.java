@@ -0,0 +1,187 @@
+package com.formaos.load;
+
+import com.formaos.utils.Log;
+import org.apache.logging.log4j.Logger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load generator.
+ *
+ * Sessions start on a fixed arrival schedule whether or not earlier requests
+ * have returned, and every request's latency is measured from the moment it
+ * was <em>supposed</em> to be sent. A stalled server therefore shows up as
+ * a growing tail instead of quietly slowing the generator down (coordinated
+ * omission). Each session sends requestsPerSession requests drawn from the
+ * weighted route mix, pausing thinkTimeMillis between them.
+ */
+public class LoadGenerator {
+
+    private static final Logger LOG = Log.get(LoadGenerator.class);
+
+    private final HttpClient http;
+    private final String baseUrl;
+
+    public LoadGenerator(String baseUrl) {
+        this(HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(15))
+            .build(), baseUrl);
+    }
+
+    public LoadGenerator(HttpClient http, String baseUrl) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Drive the scenario for its configured duration, then wait (up to the
+     * request timeout) for outstanding requests before reporting.
+     */
+    public LoadReport run(LoadScenario scenario) {
+        scenario.validate();
+        Run run = new Run(scenario);
+
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(scenario.durationSeconds);
+        run.endNanos = end;
+        double meanGapNanos = 1e9 / scenario.arrivalRatePerSecond;
+        boolean poisson = "poisson".equalsIgnoreCase(scenario.arrival);
+
+        long intended = start;
+        while (intended < end) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            run.startSession(intended);
+            double gap = poisson
+                ? -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos
+                : meanGapNanos;
+            intended += (long) Math.max(1, gap);
+        }
+
+        run.awaitSessions(TimeUnit.SECONDS.toMillis(scenario.requestTimeoutSeconds) + scenario.thinkTimeMillis);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return new LoadReport(scenario, run.stats, elapsedMillis);
+    }
+
+    private class Run {
+        final LoadScenario scenario;
+        final List<LoadScenario.Route> routes;
+        final double[] cumulativeWeights;
+        final Map<String, LoadReport.RouteStats> stats = new LinkedHashMap<>();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final Object sessionsDone = new Object();
+        int activeSessions;
+        long endNanos;
+
+        Run(LoadScenario scenario) {
+            this.scenario = scenario;
+            this.routes = scenario.routes;
+            this.cumulativeWeights = new double[routes.size()];
+            double sum = 0;
+            for (int i = 0; i < routes.size(); i++) {
+                LoadScenario.Route route = routes.get(i);
+                sum += Math.max(0, route.weight);
+                cumulativeWeights[i] = sum;
+                stats.putIfAbsent(route.name, new LoadReport.RouteStats(route.name, route.slo));
+            }
+        }
+
+        void startSession(long intendedNanos) {
+            synchronized (sessionsDone) {
+                activeSessions++;
+            }
+            send(scenario.requestsPerSession, intendedNanos);
+        }
+
+        void send(int remaining, long intendedNanos) {
+            LoadScenario.Route route = pickRoute();
+            LoadReport.RouteStats routeStats = stats.get(route.name);
+
+            if (inFlight.incrementAndGet() > scenario.maxInFlight) {
+                // The client itself is saturated; count it rather than queue unboundedly
+                inFlight.decrementAndGet();
+                routeStats.dropped.incrementAndGet();
+                endSession();
+                return;
+            }
+
+            HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + route.path))
+                .timeout(Duration.ofSeconds(scenario.requestTimeoutSeconds))
+                .method(route.method, HttpRequest.BodyPublishers.noBody())
+                .build();
+
+            http.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    inFlight.decrementAndGet();
+                    routeStats.latency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedNanos));
+                    if (error == null && route.isSuccess(response.statusCode())) {
+                        routeStats.successes.incrementAndGet();
+                    } else {
+                        routeStats.errors.incrementAndGet();
+                    }
+
+                    long next = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(scenario.thinkTimeMillis);
+                    if (remaining > 1 && next < endNanos) {
+                        CompletableFuture.runAsync(() -> send(remaining - 1, next),
+                            CompletableFuture.delayedExecutor(scenario.thinkTimeMillis, TimeUnit.MILLISECONDS));
+                    } else {
+                        endSession();
+                    }
+                });
+        }
+
+        LoadScenario.Route pickRoute() {
+            double total = cumulativeWeights[cumulativeWeights.length - 1];
+            double r = ThreadLocalRandom.current().nextDouble() * total;
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (r < cumulativeWeights[i]) {
+                    return routes.get(i);
+                }
+            }
+            return routes.get(routes.size() - 1);
+        }
+
+        void endSession() {
+            synchronized (sessionsDone) {
+                activeSessions--;
+                if (activeSessions == 0) {
+                    sessionsDone.notifyAll();
+                }
+            }
+        }
+
+        void awaitSessions(long timeoutMillis) {
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            synchronized (sessionsDone) {
+                while (activeSessions > 0) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        LOG.warn("{} load sessions still running at report time", activeSessions);
+                        return;
+                    }
+                    try {
+                        sessionsDone.wait(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.formaos.load;
+
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Results of one load run: a latency histogram and counters per route,
+ * percentile/throughput summaries, and any SLO breaches.
+ */
+public class LoadReport {
+
+    private final LoadScenario scenario;
+    private final Map<String, RouteStats> routes;
+    private final long elapsedMillis;
+
+    LoadReport(LoadScenario scenario, Map<String, RouteStats> routes, long elapsedMillis) {
+        this.scenario = scenario;
+        this.routes = routes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public Map<String, RouteStats> getRoutes() {
+        return routes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Every route and the whole run folded together.
+     */
+    public RouteStats getTotal() {
+        RouteStats total = new RouteStats("TOTAL", null);
+        for (RouteStats stats : routes.values()) {
+            total.latency.add(stats.latency);
+            total.successes.addAndGet(stats.successes.get());
+            total.errors.addAndGet(stats.errors.get());
+            total.dropped.addAndGet(stats.dropped.get());
+        }
+        return total;
+    }
+
+    /**
+     * One line per breached SLO; empty when the run passed.
+     */
+    public List<String> getSloBreaches() {
+        List<String> breaches = new ArrayList<>();
+        for (RouteStats stats : routes.values()) {
+            LoadScenario.Slo slo = stats.slo != null ? stats.slo : scenario.slo;
+            check(breaches, stats, slo);
+        }
+        if (scenario.slo != null) {
+            check(breaches, getTotal(), scenario.slo);
+        }
+        return breaches;
+    }
+
+    public boolean passed() {
+        return getSloBreaches().isEmpty();
+    }
+
+    /**
+     * Fixed-width table of count, errors, throughput and latency percentiles.
+     */
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("Load scenario '%s': %d ms%n", scenario.name, elapsedMillis));
+        out.append(String.format("%-40s %8s %7s %7s %9s %9s %9s %9s %9s %9s%n",
+            "route", "count", "errors", "dropped", "rps", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        List<RouteStats> rows = new ArrayList<>(routes.values());
+        rows.add(getTotal());
+        for (RouteStats stats : rows) {
+            out.append(String.format("%-40s %8d %7d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                stats.name, stats.latency.getCount(), stats.errors.get(), stats.dropped.get(),
+                throughput(stats), ms(stats.latency.getValueAtPercentile(50)),
+                ms(stats.latency.getValueAtPercentile(90)), ms(stats.latency.getValueAtPercentile(99)),
+                ms(stats.latency.getValueAtPercentile(99.9)), ms(stats.latency.getMax())));
+        }
+        for (String breach : getSloBreaches()) {
+            out.append("SLO BREACH: ").append(breach).append(System.lineSeparator());
+        }
+        return out.toString();
+    }
+
+    /**
+     * Write the summary as JSON for dashboards or comparison across runs.
+     */
+    public void writeJson(Path file) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("scenario", scenario.name);
+        json.put("elapsedMillis", elapsedMillis);
+        Map<String, Object> rows = new LinkedHashMap<>();
+        for (RouteStats stats : routes.values()) {
+            rows.put(stats.name, summary(stats));
+        }
+        rows.put("TOTAL", summary(getTotal()));
+        json.put("routes", rows);
+        json.put("sloBreaches", getSloBreaches());
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, new GsonBuilder().setPrettyPrinting().create().toJson(json)
+            .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Map<String, Object> summary(RouteStats stats) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("count", stats.latency.getCount());
+        row.put("errors", stats.errors.get());
+        row.put("dropped", stats.dropped.get());
+        row.put("throughputPerSecond", throughput(stats));
+        row.put("p50Ms", ms(stats.latency.getValueAtPercentile(50)));
+        row.put("p90Ms", ms(stats.latency.getValueAtPercentile(90)));
+        row.put("p99Ms", ms(stats.latency.getValueAtPercentile(99)));
+        row.put("p999Ms", ms(stats.latency.getValueAtPercentile(99.9)));
+        row.put("maxMs", ms(stats.latency.getMax()));
+        return row;
+    }
+
+    private void check(List<String> breaches, RouteStats stats, LoadScenario.Slo slo) {
+        if (slo == null) {
+            return;
+        }
+        checkPercentile(breaches, stats, "p50", 50, slo.p50Ms);
+        checkPercentile(breaches, stats, "p90", 90, slo.p90Ms);
+        checkPercentile(breaches, stats, "p99", 99, slo.p99Ms);
+        checkPercentile(breaches, stats, "p99.9", 99.9, slo.p999Ms);
+        if (slo.maxErrorRate != null && stats.getErrorRate() > slo.maxErrorRate) {
+            breaches.add(String.format("%s error rate %.4f > %.4f", stats.name, stats.getErrorRate(), slo.maxErrorRate));
+        }
+    }
+
+    private void checkPercentile(List<String> breaches, RouteStats stats, String label, double percentile,
+                                 Double limitMs) {
+        if (limitMs == null) {
+            return;
+        }
+        double actual = ms(stats.latency.getValueAtPercentile(percentile));
+        if (actual > limitMs) {
+            breaches.add(String.format("%s %s %.1f ms > %.1f ms", stats.name, label, actual, limitMs));
+        }
+    }
+
+    private double throughput(RouteStats stats) {
+        return elapsedMillis == 0 ? 0 : stats.latency.getCount() * 1000.0 / elapsedMillis;
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * Counters and latency for one route.
+     */
+    public static class RouteStats {
+        final String name;
+        final LoadScenario.Slo slo;
+        final LatencyHistogram latency = new LatencyHistogram();
+        final AtomicLong successes = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong dropped = new AtomicLong();
+
+        RouteStats(String name, LoadScenario.Slo slo) {
+            this.name = name;
+            this.slo = slo;
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getSuccesses() {
+            return successes.get();
+        }
+
+        public long getErrors() {
+            return errors.get();
+        }
+
+        public long getDropped() {
+            return dropped.get();
+        }
+
+        /**
+         * Failed plus dropped requests as a fraction of all attempts.
+         */
+        public double getErrorRate() {
+            long attempts = successes.get() + errors.get() + dropped.get();
+            return attempts == 0 ? 0 : (double) (errors.get() + dropped.get()) / attempts;
+        }
+    }
+}
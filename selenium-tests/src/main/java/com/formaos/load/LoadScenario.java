@@ -0,0 +1,111 @@
+package com.formaos.load;
+
+import com.google.gson.Gson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A load scenario: which routes to hit in what proportion, how fast new
+ * sessions arrive, how long each session thinks between requests, and the
+ * latency/error SLOs the run must meet. Loaded from JSON.
+ */
+public class LoadScenario {
+
+    public String name = "scenario";
+    public int durationSeconds = 30;
+    /** New sessions started per second, independent of how fast the server answers */
+    public double arrivalRatePerSecond = 10;
+    /** "constant" spacing or "poisson" (exponential inter-arrival times) */
+    public String arrival = "constant";
+    public int requestsPerSession = 1;
+    public long thinkTimeMillis = 0;
+    /** Requests allowed in flight before new ones are dropped and counted */
+    public int maxInFlight = 1000;
+    public int requestTimeoutSeconds = 20;
+    public List<Route> routes = new ArrayList<>();
+    public Slo slo;
+
+    /**
+     * Load a scenario from a file path, falling back to the classpath.
+     */
+    public static LoadScenario load(String location) {
+        Path path = Paths.get(location);
+        try (Reader reader = Files.exists(path)
+                ? Files.newBufferedReader(path, StandardCharsets.UTF_8)
+                : classpathReader(location)) {
+            LoadScenario scenario = new Gson().fromJson(reader, LoadScenario.class);
+            scenario.validate();
+            return scenario;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to read load scenario " + location, e);
+        }
+    }
+
+    void validate() {
+        if (routes == null || routes.isEmpty()) {
+            throw new IllegalArgumentException("Load scenario '" + name + "' has no routes");
+        }
+        if (arrivalRatePerSecond <= 0 || durationSeconds <= 0) {
+            throw new IllegalArgumentException("Load scenario '" + name
+                + "' needs a positive arrivalRatePerSecond and durationSeconds");
+        }
+        for (Route route : routes) {
+            if (route.method == null) {
+                route.method = "GET";
+            }
+            if (route.name == null) {
+                route.name = route.method + " " + route.path;
+            }
+        }
+    }
+
+    private static Reader classpathReader(String location) {
+        InputStream in = LoadScenario.class.getClassLoader().getResourceAsStream(location);
+        if (in == null) {
+            throw new IllegalArgumentException("Load scenario not found: " + location);
+        }
+        return new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * One entry in the route mix.
+     */
+    public static class Route {
+        public String name;
+        public String path;
+        public String method;
+        public double weight = 1;
+        /** Statuses counted as success; defaults to any 2xx/3xx */
+        public List<Integer> expectedStatus;
+        /** Optional per-route SLO, overriding the scenario's */
+        public Slo slo;
+
+        boolean isSuccess(int status) {
+            if (expectedStatus != null && !expectedStatus.isEmpty()) {
+                return expectedStatus.contains(status);
+            }
+            return status >= 200 && status < 400;
+        }
+    }
+
+    /**
+     * Latency ceilings in milliseconds and a maximum error rate (0-1). Unset
+     * fields are not checked.
+     */
+    public static class Slo {
+        public Double p50Ms;
+        public Double p90Ms;
+        public Double p99Ms;
+        public Double p999Ms;
+        public Double maxErrorRate;
+    }
+}
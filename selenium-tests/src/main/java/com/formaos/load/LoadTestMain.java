@@ -0,0 +1,36 @@
+package com.formaos.load;
+
+import com.formaos.utils.ConfigReader;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Command-line entry point for load mode.
+ *
+ * Usage: LoadTestMain &lt;scenario.json&gt; [baseUrl]
+ *
+ * baseUrl defaults to base.url from config.properties. Prints the
+ * percentile table, writes it as JSON under report.path and exits with
+ * status 1 if any SLO was breached.
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: LoadTestMain <scenario.json> [baseUrl]");
+            System.exit(2);
+        }
+        ConfigReader config = new ConfigReader();
+        LoadScenario scenario = LoadScenario.load(args[0]);
+        String baseUrl = args.length > 1 ? args[1] : config.getBaseUrl();
+
+        System.out.println("Running load scenario '" + scenario.name + "' against " + baseUrl
+            + " at " + scenario.arrivalRatePerSecond + " sessions/s for " + scenario.durationSeconds + " s");
+        LoadReport report = new LoadGenerator(baseUrl).run(scenario);
+
+        System.out.println(report.format());
+        report.writeJson(Paths.get(config.getReportPath(), "load-" + scenario.name + ".json"));
+        System.exit(report.passed() ? 0 : 1);
+    }
+}
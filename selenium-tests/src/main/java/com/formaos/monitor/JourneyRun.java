@@ -0,0 +1,48 @@
+package com.formaos.monitor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A single run of a journey against a target. Steps are timed and counted
+ * in {@link MonitorMetrics}; the first failure is rethrown so the run stops.
+ */
+public class JourneyRun {
+
+    private final String journey;
+    private final String baseUrl;
+    private final MonitorMetrics metrics;
+
+    public JourneyRun(String journey, String baseUrl, MonitorMetrics metrics) {
+        this.journey = journey;
+        this.baseUrl = baseUrl;
+        this.metrics = metrics;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public <T> T step(String name, Callable<T> body) throws Exception {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            T result = body.call();
+            success = true;
+            return result;
+        } finally {
+            metrics.recordStep(journey, name, System.nanoTime() - start, success);
+        }
+    }
+
+    /**
+     * A step that passes when the check holds and fails with message otherwise.
+     */
+    public void check(String name, Callable<Boolean> check, String message) throws Exception {
+        step(name, () -> {
+            if (!check.call()) {
+                throw new IllegalStateException(message);
+            }
+            return null;
+        });
+    }
+}
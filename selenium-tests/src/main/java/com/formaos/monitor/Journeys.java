@@ -0,0 +1,180 @@
+package com.formaos.monitor;
+
+import com.formaos.pages.HomePage;
+import com.formaos.utils.ConfigReader;
+import com.formaos.utils.DriverFactory;
+import com.formaos.utils.Log;
+import com.formaos.utils.PageReadiness;
+import com.formaos.utils.RedirectChain;
+import com.formaos.utils.RedirectTracer;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The journeys monitor mode knows, by the names used in monitor.journeys.
+ */
+public final class Journeys {
+
+    private static final Logger LOG = Log.get(Journeys.class);
+
+    private Journeys() {
+    }
+
+    public static SyntheticJourney create(String name, ConfigReader config) {
+        switch (name) {
+            case "homepage-cta":
+                return new HomepageCta(config);
+            case "signin-redirect":
+                return new SignInRedirect(new RedirectTracer(config));
+            case "anonymous-api":
+                return new AnonymousApiRejection(ConfigReader.splitList(config.getMonitorApiRoutes()));
+            default:
+                throw new IllegalArgumentException("Unknown monitor journey: " + name
+                    + " (expected homepage-cta, signin-redirect or anonymous-api)");
+        }
+    }
+
+    /**
+     * Browser journey: load the homepage, check every CTA is in place and
+     * follow Start Free Trial to sign-up. One session is reused across runs
+     * and replaced after a failure or monitor.browser.max.runs runs, so a
+     * slowly bloating browser never accumulates.
+     */
+    static class HomepageCta implements SyntheticJourney {
+        private final ConfigReader config;
+        private WebDriver driver;
+        private int runs;
+
+        HomepageCta(ConfigReader config) {
+            this.config = config;
+        }
+
+        @Override
+        public String getName() {
+            return "homepage-cta";
+        }
+
+        @Override
+        public void run(JourneyRun run) throws Exception {
+            if (driver == null || runs >= config.getMonitorBrowserMaxRuns()) {
+                close();
+                driver = run.step("browser-start", () -> DriverFactory.createDriver(config.getMonitorBrowser()));
+                driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(config.getPageLoadTimeout()));
+            }
+            runs++;
+            try {
+                WebDriver session = driver;
+                run.step("load", () -> {
+                    session.manage().deleteAllCookies();
+                    session.get(run.getBaseUrl());
+                    return new PageReadiness(session, config).waitForPageReady();
+                });
+                HomePage home = new HomePage(session);
+                run.check("cta-layout", () -> home.getMissingLayoutElements().isEmpty(),
+                    "Homepage CTAs missing");
+                run.check("cta-signup", () -> {
+                    home.clickStartFreeTrial();
+                    return new WebDriverWait(session, Duration.ofSeconds(config.getExplicitWait()))
+                        .until(d -> d.getCurrentUrl().contains("/auth"));
+                }, "Start Free Trial did not reach sign-up");
+            } catch (Exception e) {
+                // Start clean next time rather than trusting a session in an unknown state
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (driver != null) {
+                try {
+                    driver.quit();
+                } catch (RuntimeException e) {
+                    LOG.warn("Failed to quit monitor browser", e);
+                }
+                driver = null;
+                runs = 0;
+            }
+        }
+    }
+
+    /**
+     * HTTP journey: an anonymous visit to /app must end on the sign-in page.
+     */
+    static class SignInRedirect implements SyntheticJourney {
+        private final RedirectTracer tracer;
+
+        SignInRedirect(RedirectTracer tracer) {
+            this.tracer = tracer;
+        }
+
+        @Override
+        public String getName() {
+            return "signin-redirect";
+        }
+
+        @Override
+        public void run(JourneyRun run) throws Exception {
+            RedirectChain chain = run.step("redirect", () -> tracer.trace(run.getBaseUrl() + "/app", Map.of()));
+            run.check("lands-on-signin", () -> chain.getFinalStatus() < 400 && chain.visited("/auth/signin"),
+                "Anonymous /app did not reach /auth/signin");
+        }
+    }
+
+    /**
+     * HTTP journey: org-scoped API routes must answer 401/403 to anonymous
+     * callers. One step per route.
+     */
+    static class AnonymousApiRejection implements SyntheticJourney {
+        private static final HttpClient HTTP = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+        private final List<String> routes;
+
+        AnonymousApiRejection(List<String> routes) {
+            this.routes = routes;
+        }
+
+        @Override
+        public String getName() {
+            return "anonymous-api";
+        }
+
+        @Override
+        public void run(JourneyRun run) throws Exception {
+            // Every route is checked every run; the run fails if any one did
+            List<String> failed = new ArrayList<>();
+            for (String route : routes) {
+                try {
+                    checkRoute(run, route);
+                } catch (Exception e) {
+                    failed.add(route);
+                }
+            }
+            if (!failed.isEmpty()) {
+                throw new IllegalStateException("Anonymous callers not rejected by " + failed);
+            }
+        }
+
+        private void checkRoute(JourneyRun run, String route) throws Exception {
+            run.check(route, () -> {
+                HttpResponse<Void> response = HTTP.send(HttpRequest.newBuilder(URI.create(run.getBaseUrl() + route))
+                    .timeout(Duration.ofSeconds(20))
+                    .GET()
+                    .build(), HttpResponse.BodyHandlers.discarding());
+                return response.statusCode() == 401 || response.statusCode() == 403;
+            }, route + " did not reject an anonymous caller");
+        }
+    }
+}
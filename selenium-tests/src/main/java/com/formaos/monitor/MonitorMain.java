@@ -0,0 +1,42 @@
+package com.formaos.monitor;
+
+import com.formaos.utils.ConfigReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command-line entry point for monitor mode.
+ *
+ * Usage: MonitorMain [staging|production|local|url]
+ *
+ * The target defaults to monitor.target from config.properties. Runs the
+ * monitor.journeys every monitor.interval.seconds until the process is
+ * stopped, serving metrics on monitor.host:monitor.port.
+ */
+public class MonitorMain {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        ConfigReader config = new ConfigReader();
+        String target = args.length > 0 ? args[0] : config.getMonitorTarget();
+        String baseUrl = config.resolveEnvironmentUrl(target);
+
+        List<SyntheticJourney> journeys = new ArrayList<>();
+        for (String name : ConfigReader.splitList(config.getMonitorJourneys())) {
+            journeys.add(Journeys.create(name, config));
+        }
+        if (journeys.isEmpty()) {
+            System.err.println("No journeys configured in monitor.journeys");
+            System.exit(2);
+        }
+
+        SyntheticMonitor monitor = new SyntheticMonitor(baseUrl, journeys);
+        Runtime.getRuntime().addShutdownHook(new Thread(monitor::close, "monitor-shutdown"));
+        monitor.serve(config.getMonitorHost(), config.getMonitorPort());
+        System.out.println("Monitoring " + baseUrl + " every " + config.getMonitorIntervalSeconds() + " s: "
+            + config.getMonitorJourneys());
+        monitor.start(config.getMonitorIntervalSeconds());
+        Thread.currentThread().join();
+    }
+}
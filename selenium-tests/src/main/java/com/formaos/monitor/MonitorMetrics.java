@@ -0,0 +1,157 @@
+package com.formaos.monitor;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-process metrics for synthetic journeys, rendered in the OpenMetrics
+ * text format.
+ *
+ * Every (journey, step) pair gets a fixed-bucket latency histogram and
+ * success/failure counters; every journey a run counter and the time of
+ * its last success. Steps are named in code, so the series set is fixed
+ * after the first run of each journey and memory stays flat however long
+ * the monitor runs. Error messages never become labels.
+ */
+public class MonitorMetrics {
+
+    /**
+     * Histogram upper bounds in seconds, as exposed in the le label.
+     */
+    static final double[] BUCKETS = {0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60};
+
+    private final Map<String, Step> steps = new ConcurrentHashMap<>();
+    private final Map<String, JourneyStats> journeys = new ConcurrentHashMap<>();
+
+    public void recordStep(String journey, String step, long nanos, boolean success) {
+        steps.computeIfAbsent(journey + '\u0000' + step, k -> new Step(journey, step)).record(nanos, success);
+    }
+
+    public void recordJourney(String journey, boolean success) {
+        journeys.computeIfAbsent(journey, JourneyStats::new).record(success);
+    }
+
+    public long getStepCount(String journey, String step, boolean success) {
+        Step stats = steps.get(journey + '\u0000' + step);
+        return stats == null ? 0 : success ? stats.successes.get() : stats.failures.get();
+    }
+
+    /**
+     * All metrics as an OpenMetrics exposition, ending in "# EOF".
+     */
+    public String render() {
+        Map<String, Step> sortedSteps = new TreeMap<>(steps);
+        Map<String, JourneyStats> sortedJourneys = new TreeMap<>(journeys);
+        StringBuilder out = new StringBuilder();
+
+        out.append("# TYPE formaos_journey_step_seconds histogram\n");
+        out.append("# UNIT formaos_journey_step_seconds seconds\n");
+        out.append("# HELP formaos_journey_step_seconds Latency of one step of a synthetic journey.\n");
+        for (Step step : sortedSteps.values()) {
+            String labels = "journey=\"" + escape(step.journey) + "\",step=\"" + escape(step.step) + "\"";
+            long cumulative = 0;
+            for (int i = 0; i < BUCKETS.length; i++) {
+                cumulative += step.buckets.get(i);
+                out.append("formaos_journey_step_seconds_bucket{").append(labels)
+                    .append(",le=\"").append(format(BUCKETS[i])).append("\"} ").append(cumulative).append('\n');
+            }
+            long count = step.count.get();
+            out.append("formaos_journey_step_seconds_bucket{").append(labels).append(",le=\"+Inf\"} ")
+                .append(count).append('\n');
+            out.append("formaos_journey_step_seconds_count{").append(labels).append("} ").append(count).append('\n');
+            out.append("formaos_journey_step_seconds_sum{").append(labels).append("} ")
+                .append(format(step.sumNanos.get() / 1e9)).append('\n');
+        }
+
+        out.append("# TYPE formaos_journey_step counter\n");
+        out.append("# HELP formaos_journey_step Synthetic journey steps by result.\n");
+        for (Step step : sortedSteps.values()) {
+            String labels = "journey=\"" + escape(step.journey) + "\",step=\"" + escape(step.step) + "\"";
+            out.append("formaos_journey_step_total{").append(labels).append(",result=\"success\"} ")
+                .append(step.successes.get()).append('\n');
+            out.append("formaos_journey_step_total{").append(labels).append(",result=\"failure\"} ")
+                .append(step.failures.get()).append('\n');
+        }
+
+        out.append("# TYPE formaos_journey_run counter\n");
+        out.append("# HELP formaos_journey_run Complete synthetic journey runs by result.\n");
+        for (JourneyStats journey : sortedJourneys.values()) {
+            String labels = "journey=\"" + escape(journey.name) + "\"";
+            out.append("formaos_journey_run_total{").append(labels).append(",result=\"success\"} ")
+                .append(journey.successes.get()).append('\n');
+            out.append("formaos_journey_run_total{").append(labels).append(",result=\"failure\"} ")
+                .append(journey.failures.get()).append('\n');
+        }
+
+        out.append("# TYPE formaos_journey_last_success_timestamp_seconds gauge\n");
+        out.append("# UNIT formaos_journey_last_success_timestamp_seconds seconds\n");
+        out.append("# HELP formaos_journey_last_success_timestamp_seconds When each journey last passed end to end.\n");
+        for (JourneyStats journey : sortedJourneys.values()) {
+            out.append("formaos_journey_last_success_timestamp_seconds{journey=\"").append(escape(journey.name))
+                .append("\"} ").append(format(journey.lastSuccessMillis.get() / 1000.0)).append('\n');
+        }
+
+        out.append("# EOF\n");
+        return out.toString();
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%s", value);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static final class Step {
+        final String journey;
+        final String step;
+        final AtomicLongArray buckets = new AtomicLongArray(BUCKETS.length);
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong sumNanos = new AtomicLong();
+        final AtomicLong successes = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+
+        Step(String journey, String step) {
+            this.journey = journey;
+            this.step = step;
+        }
+
+        void record(long nanos, boolean success) {
+            double seconds = nanos / 1e9;
+            for (int i = 0; i < BUCKETS.length; i++) {
+                if (seconds <= BUCKETS[i]) {
+                    buckets.incrementAndGet(i);
+                    break;
+                }
+            }
+            count.incrementAndGet();
+            sumNanos.addAndGet(nanos);
+            (success ? successes : failures).incrementAndGet();
+        }
+    }
+
+    private static final class JourneyStats {
+        final String name;
+        final AtomicLong successes = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+        final AtomicLong lastSuccessMillis = new AtomicLong();
+
+        JourneyStats(String name) {
+            this.name = name;
+        }
+
+        void record(boolean success) {
+            if (success) {
+                successes.incrementAndGet();
+                lastSuccessMillis.set(System.currentTimeMillis());
+            } else {
+                failures.incrementAndGet();
+            }
+        }
+    }
+}
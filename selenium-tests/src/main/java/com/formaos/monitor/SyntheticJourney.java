@@ -0,0 +1,19 @@
+package com.formaos.monitor;
+
+/**
+ * One user journey the monitor repeats. Each run times its steps through
+ * {@link JourneyRun#step}; a failing step ends the run.
+ */
+public interface SyntheticJourney extends AutoCloseable {
+
+    String getName();
+
+    void run(JourneyRun run) throws Exception;
+
+    /**
+     * Release anything held between runs (e.g. a browser session).
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,118 @@
+package com.formaos.monitor;
+
+import com.formaos.utils.Log;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long-running monitor: repeats each journey on its own schedule against
+ * one target and serves the results at /metrics in OpenMetrics format.
+ *
+ * Each journey has a single thread and a fixed delay between runs, so a
+ * slow run delays the next one instead of overlapping it, and one stuck
+ * journey never holds up the others.
+ */
+public class SyntheticMonitor implements AutoCloseable {
+
+    private static final Logger LOG = Log.get(SyntheticMonitor.class);
+
+    static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    private final String baseUrl;
+    private final List<SyntheticJourney> journeys;
+    private final MonitorMetrics metrics = new MonitorMetrics();
+    private final ScheduledExecutorService scheduler;
+    private HttpServer server;
+
+    public SyntheticMonitor(String baseUrl, List<SyntheticJourney> journeys) {
+        this.baseUrl = baseUrl.replaceAll("/+$", "");
+        this.journeys = journeys;
+        this.scheduler = Executors.newScheduledThreadPool(Math.max(1, journeys.size()), r -> {
+            Thread thread = new Thread(r, "monitor-journey");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Serve /metrics on host:port (port 0 picks a free one).
+     */
+    public void serve(String host, int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        server.createContext("/metrics", this::handleMetrics);
+        server.createContext("/healthz", exchange -> respond(exchange, 200, "text/plain; charset=utf-8", "ok\n"));
+        server.start();
+        LOG.info("Metrics at http://{}:{}/metrics", host, getPort());
+    }
+
+    /**
+     * Run every journey now and then every intervalSeconds after it finishes.
+     */
+    public void start(long intervalSeconds) {
+        for (SyntheticJourney journey : journeys) {
+            scheduler.scheduleWithFixedDelay(() -> runOnce(journey), 0, intervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * One run of a journey. Never throws, so the schedule keeps going.
+     */
+    public boolean runOnce(SyntheticJourney journey) {
+        boolean success = false;
+        try {
+            journey.run(new JourneyRun(journey.getName(), baseUrl, metrics));
+            success = true;
+        } catch (Exception | AssertionError e) {
+            LOG.warn("Journey {} failed", journey.getName(), e);
+        } finally {
+            metrics.recordJourney(journey.getName(), success);
+        }
+        return success;
+    }
+
+    public MonitorMetrics getMetrics() {
+        return metrics;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journeys.forEach(SyntheticJourney::close);
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        respond(exchange, 200, CONTENT_TYPE, metrics.render());
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String body)
+        throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
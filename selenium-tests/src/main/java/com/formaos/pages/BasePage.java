@@ -1,5 +1,8 @@
 package com.formaos.pages;
 
+import com.formaos.utils.CommandCounter;
+import com.formaos.utils.DriverManager;
+import com.formaos.utils.PhaseTimer;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -7,14 +10,42 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
+/**
+ * Common actions for page objects. The driver is wrapped so every command
+ * a page object sends is counted ({@link #getRoundTrips()}); declare
+ * elements with {@link #element(By)} to get cached, stale-safe handles.
+ */
 public class BasePage {
     protected WebDriver driver;
     protected WebDriverWait wait;
+    private final CommandCounter commands = new CommandCounter();
     
     public BasePage(WebDriver driver) {
-        this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.driver = commands.decorate(driver);
+        this.wait = new WebDriverWait(this.driver, Duration.ofSeconds(10));
+    }
+    
+    /**
+     * A lazily resolved, cached element for this page.
+     */
+    protected PageElement element(By locator) {
+        return new PageElement(locator, wait);
+    }
+    
+    /**
+     * WebDriver commands this page object has sent since creation or the
+     * last reset.
+     */
+    public long getRoundTrips() {
+        return commands.get();
+    }
+    
+    public long resetRoundTrips() {
+        return commands.reset();
     }
     
     protected void click(By locator) {
@@ -31,15 +62,57 @@ public class BasePage {
         return wait.until(ExpectedConditions.visibilityOfElementLocated(locator)).getText();
     }
     
+    /**
+     * Whether the element is on the page and visible right now. Does not
+     * wait, so an absent element answers immediately instead of after the
+     * implicit wait.
+     */
     protected boolean isElementDisplayed(By locator) {
         try {
-            return driver.findElement(locator).isDisplayed();
+            return withoutImplicitWait(() -> {
+                List<WebElement> found = driver.findElements(locator);
+                return !found.isEmpty() && found.get(0).isDisplayed();
+            });
         } catch (Exception e) {
             return false;
         }
     }
     
+    /**
+     * Whether any element matches right now, without waiting.
+     */
+    protected boolean isElementPresent(By locator) {
+        return withoutImplicitWait(() -> !driver.findElements(locator).isEmpty());
+    }
+    
+    protected boolean isElementAbsent(By locator) {
+        return !isElementPresent(locator);
+    }
+    
+    /**
+     * Resolve several locators in one JavaScript round trip, returning the
+     * count, visibility, text and requested attributes for each name.
+     */
+    protected Map<String, ElementState> queryElements(Map<String, By> locators, String... attributes) {
+        return ElementBatch.query(driver, locators, attributes);
+    }
+    
+    /**
+     * Run a lookup with the implicit wait at zero, restoring the configured
+     * implicit.wait afterwards (not read back from the driver: that would
+     * cost another round trip).
+     */
+    protected <T> T withoutImplicitWait(Supplier<T> lookup) {
+        Duration previous = Duration.ofSeconds(DriverManager.getConfig().getImplicitWait());
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        try {
+            return lookup.get();
+        } finally {
+            driver.manage().timeouts().implicitlyWait(previous);
+        }
+    }
+    
     protected void waitForElement(By locator) {
-        wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        PhaseTimer.time("wait", locator.toString(), () -> wait.until(ExpectedConditions.visibilityOfElementLocated(locator)));
     }
 }
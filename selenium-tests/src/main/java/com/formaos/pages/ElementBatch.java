@@ -0,0 +1,105 @@
+package com.formaos.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves many locators in a single executeScript call. Each locator is
+ * translated to its DOM equivalent (querySelectorAll, XPath evaluate, link
+ * text scan, ...) in the page, and the result for each comes back in the
+ * same response. Never waits: it reports the page as it is right now.
+ */
+public final class ElementBatch {
+
+    private static final int MAX_TEXT = 500;
+
+    private static final String QUERY =
+        "var queries = arguments[0], attrs = arguments[1], maxText = arguments[2];" +
+        "function find(type, value) {" +
+        "  switch (type) {" +
+        "    case 'cssSelector': return Array.from(document.querySelectorAll(value));" +
+        "    case 'id': return Array.from(document.querySelectorAll('[id=\"' + CSS.escape(value) + '\"]'));" +
+        "    case 'name': return Array.from(document.getElementsByName(value));" +
+        "    case 'className': return Array.from(document.getElementsByClassName(value));" +
+        "    case 'tagName': return Array.from(document.getElementsByTagName(value));" +
+        "    case 'linkText': case 'partialLinkText':" +
+        "      return Array.from(document.querySelectorAll('a')).filter(function (a) {" +
+        "        var t = (a.innerText || '').trim();" +
+        "        return type === 'linkText' ? t === value : t.indexOf(value) >= 0;" +
+        "      });" +
+        "    case 'xpath':" +
+        "      var snap = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+        "      var out = [];" +
+        "      for (var i = 0; i < snap.snapshotLength; i++) { out.push(snap.snapshotItem(i)); }" +
+        "      return out;" +
+        "  }" +
+        "  throw new Error('Unsupported locator type ' + type);" +
+        "}" +
+        "function visible(e) {" +
+        "  if (e.checkVisibility) { return e.checkVisibility({ checkOpacity: true, checkVisibilityCSS: true }); }" +
+        "  var s = getComputedStyle(e);" +
+        "  return s.visibility !== 'hidden' && s.display !== 'none' && e.getClientRects().length > 0;" +
+        "}" +
+        "return queries.map(function (q) {" +
+        "  var found = find(q[0], q[1]);" +
+        "  var first = found[0];" +
+        "  var r = { count: found.length, visible: !!first && visible(first), text: '', attributes: {} };" +
+        "  if (first) {" +
+        "    r.text = (first.innerText || first.textContent || '').trim().substring(0, maxText);" +
+        "    attrs.forEach(function (a) { var v = first.getAttribute(a); if (v !== null) { r.attributes[a] = v; } });" +
+        "  }" +
+        "  return r;" +
+        "});";
+
+    private ElementBatch() {
+    }
+
+    /**
+     * Query every named locator at once.
+     *
+     * @param locators   result name to locator, in the order to report
+     * @param attributes attributes to read from each first match
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, ElementState> query(WebDriver driver, Map<String, By> locators, String... attributes) {
+        List<List<String>> queries = new ArrayList<>();
+        for (By locator : locators.values()) {
+            queries.add(toQuery(locator));
+        }
+        List<Map<String, Object>> results = (List<Map<String, Object>>) ((JavascriptExecutor) driver)
+            .executeScript(QUERY, queries, List.of(attributes), MAX_TEXT);
+
+        Map<String, ElementState> states = new LinkedHashMap<>();
+        int i = 0;
+        for (String name : locators.keySet()) {
+            Map<String, Object> result = results.get(i++);
+            Map<String, String> attrs = new LinkedHashMap<>();
+            ((Map<String, Object>) result.get("attributes")).forEach((k, v) -> attrs.put(k, String.valueOf(v)));
+            states.put(name, new ElementState(name,
+                ((Number) result.get("count")).intValue(),
+                Boolean.TRUE.equals(result.get("visible")),
+                String.valueOf(result.get("text")),
+                attrs));
+        }
+        return states;
+    }
+
+    /**
+     * Selenium's By.toString() is "By.&lt;type&gt;: &lt;value&gt;" for the built-in
+     * locators; that is the only public view of the strategy.
+     */
+    static List<String> toQuery(By locator) {
+        String description = locator.toString();
+        int colon = description.indexOf(": ");
+        if (!description.startsWith("By.") || colon < 0) {
+            throw new IllegalArgumentException("Cannot batch custom locator " + description);
+        }
+        return List.of(description.substring(3, colon), description.substring(colon + 2));
+    }
+}
@@ -0,0 +1,64 @@
+package com.formaos.pages;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * What one locator matched at the moment of a batched query: how many
+ * elements, and the visibility, text and requested attributes of the first.
+ */
+public class ElementState {
+
+    private final String name;
+    private final int count;
+    private final boolean visible;
+    private final String text;
+    private final Map<String, String> attributes;
+
+    ElementState(String name, int count, boolean visible, String text, Map<String, String> attributes) {
+        this.name = name;
+        this.count = count;
+        this.visible = visible;
+        this.text = text;
+        this.attributes = Collections.unmodifiableMap(attributes);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public boolean isPresent() {
+        return count > 0;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * Rendered text of the first match, trimmed; empty when absent.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Attribute of the first match, or null if absent or not requested.
+     */
+    public String getAttribute(String attribute) {
+        return attributes.get(attribute);
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public String toString() {
+        return name + "{count=" + count + ", visible=" + visible + ", text='" + text + "', attributes=" + attributes + "}";
+    }
+}
@@ -3,60 +3,96 @@ package com.formaos.pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 public class HomePage extends BasePage {
     
     // Locators
     // Updated selectors to match FigmaHomepage implementation
-    private By startFreeTrialButton = By.cssSelector("a[href='/auth'], a[href='/auth/signup']");
-    private By requestDemoButton = By.cssSelector("a[href='/contact']");
-    private By loginLink = By.xpath("//a[contains(text(), 'Login')]");
-    private By productLink = By.xpath("//a[@href='/product']");
-    private By industriesLink = By.xpath("//a[@href='/industries']");
-    private By securityLink = By.xpath("//a[@href='/security']");
-    private By pricingLink = By.xpath("//a[@href='/pricing']");
-    private By contactLink = By.xpath("//a[@href='/contact']");
+    private final PageElement startFreeTrialButton = element(By.cssSelector("a[href='/auth'], a[href='/auth/signup']"));
+    private final PageElement requestDemoButton = element(By.cssSelector("a[href='/contact']"));
+    // Matched on link text, which CSS cannot express
+    private final PageElement loginLink = element(By.xpath("//a[contains(text(), 'Login')]"));
+    private final PageElement productLink = element(By.cssSelector("a[href='/product']"));
+    private final PageElement industriesLink = element(By.cssSelector("a[href='/industries']"));
+    private final PageElement securityLink = element(By.cssSelector("a[href='/security']"));
+    private final PageElement pricingLink = element(By.cssSelector("a[href='/pricing']"));
+    private final PageElement contactLink = element(By.cssSelector("a[href='/contact']"));
     
     public HomePage(WebDriver driver) {
         super(driver);
     }
     
     public void clickStartFreeTrial() {
-        click(startFreeTrialButton);
+        startFreeTrialButton.click();
     }
     
     public void clickRequestDemo() {
-        click(requestDemoButton);
+        requestDemoButton.click();
     }
     
     public void clickLogin() {
-        click(loginLink);
+        loginLink.click();
     }
     
     public void navigateToProduct() {
-        click(productLink);
+        productLink.click();
     }
     
     public void navigateToIndustries() {
-        click(industriesLink);
+        industriesLink.click();
     }
     
     public void navigateToSecurity() {
-        click(securityLink);
+        securityLink.click();
     }
     
     public void navigateToPricing() {
-        click(pricingLink);
+        pricingLink.click();
     }
     
     public void navigateToContact() {
-        click(contactLink);
+        contactLink.click();
     }
     
     public boolean isStartFreeTrialDisplayed() {
-        return isElementDisplayed(startFreeTrialButton);
+        return isElementDisplayed(startFreeTrialButton.getLocator());
     }
     
     public boolean isRequestDemoDisplayed() {
-        return isElementDisplayed(requestDemoButton);
+        return isElementDisplayed(requestDemoButton.getLocator());
+    }
+    
+    /**
+     * State of every CTA and nav link, with their hrefs, in one call.
+     */
+    public Map<String, ElementState> getLayout() {
+        Map<String, By> locators = new LinkedHashMap<>();
+        locators.put("startFreeTrial", startFreeTrialButton.getLocator());
+        locators.put("requestDemo", requestDemoButton.getLocator());
+        locators.put("login", loginLink.getLocator());
+        locators.put("product", productLink.getLocator());
+        locators.put("industries", industriesLink.getLocator());
+        locators.put("security", securityLink.getLocator());
+        locators.put("pricing", pricingLink.getLocator());
+        locators.put("contact", contactLink.getLocator());
+        return queryElements(locators, "href");
+    }
+    
+    /**
+     * Names of layout elements that are missing or hidden; empty when the
+     * whole homepage layout is in place.
+     */
+    public List<String> getMissingLayoutElements() {
+        List<String> missing = new ArrayList<>();
+        getLayout().forEach((name, state) -> {
+            if (!state.isVisible()) {
+                missing.add(name);
+            }
+        });
+        return missing;
     }
 }
@@ -0,0 +1,95 @@
+package com.formaos.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.util.function.Function;
+
+/**
+ * A page-object element that is looked up on first use and then reused.
+ *
+ * The cached handle is used directly, so a repeat click is one command
+ * instead of a fresh wait-and-find. If the page re-rendered and the handle
+ * went stale, it is looked up again and the action retried once. If the
+ * element is covered or not yet interactable, it falls back to waiting
+ * until it is clickable.
+ */
+public class PageElement {
+
+    private final By locator;
+    private final WebDriverWait wait;
+    private WebElement cached;
+
+    PageElement(By locator, WebDriverWait wait) {
+        this.locator = locator;
+        this.wait = wait;
+    }
+
+    public By getLocator() {
+        return locator;
+    }
+
+    /**
+     * The element, waiting for it to become visible on first resolution.
+     */
+    public WebElement get() {
+        if (cached == null) {
+            cached = wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        }
+        return cached;
+    }
+
+    public void click() {
+        act(element -> {
+            try {
+                element.click();
+            } catch (ElementNotInteractableException e) {
+                // Includes ElementClickInterceptedException: an overlay still animating out
+                wait.until(ExpectedConditions.elementToBeClickable(element)).click();
+            }
+            return null;
+        });
+    }
+
+    public void type(String text) {
+        act(element -> {
+            element.clear();
+            element.sendKeys(text);
+            return null;
+        });
+    }
+
+    public String getText() {
+        return act(WebElement::getText);
+    }
+
+    public String getAttribute(String name) {
+        return act(element -> element.getAttribute(name));
+    }
+
+    /**
+     * Forget the cached handle, e.g. after a navigation the caller knows
+     * replaced the element.
+     */
+    public void invalidate() {
+        cached = null;
+    }
+
+    private <T> T act(Function<WebElement, T> action) {
+        try {
+            return action.apply(get());
+        } catch (StaleElementReferenceException e) {
+            invalidate();
+            return action.apply(get());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PageElement(" + locator + ")";
+    }
+}
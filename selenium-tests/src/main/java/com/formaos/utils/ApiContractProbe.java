@@ -0,0 +1,225 @@
+package com.formaos.utils;
+
+import com.google.gson.Gson;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Checks an HTTP contract across a whole route matrix at once.
+ *
+ * Each route declares its method, the status codes it may answer with and
+ * substrings that must never appear in its body. All routes are sent with
+ * sendAsync, at most api.probe.concurrency in flight, and every route is
+ * reported with its latency so one failure never hides the rest.
+ */
+public class ApiContractProbe {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final int concurrency;
+    private final Duration requestTimeout;
+
+    public ApiContractProbe(HttpClient http, String baseUrl, int concurrency, Duration requestTimeout) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.concurrency = Math.max(1, concurrency);
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Load a route matrix from the classpath, filling unset fields from its
+     * "defaults" block.
+     */
+    public static List<RouteContract> loadMatrix(String resource) {
+        InputStream in = ApiContractProbe.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            throw new IllegalArgumentException("Route matrix not found on classpath: " + resource);
+        }
+        Matrix matrix;
+        try (InputStreamReader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            matrix = new Gson().fromJson(reader, Matrix.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to read route matrix " + resource, e);
+        }
+
+        RouteContract defaults = matrix.defaults == null ? new RouteContract() : matrix.defaults;
+        List<RouteContract> routes = new ArrayList<>();
+        for (RouteContract route : matrix.routes) {
+            if (route.method == null) {
+                route.method = defaults.method == null ? "GET" : defaults.method;
+            }
+            if (route.expectedStatus == null) {
+                route.expectedStatus = defaults.expectedStatus;
+            }
+            if (route.forbiddenBody == null) {
+                route.forbiddenBody = defaults.forbiddenBody == null ? List.of() : defaults.forbiddenBody;
+            }
+            routes.add(route);
+        }
+        return routes;
+    }
+
+    /**
+     * Probe every route concurrently and return one result per route, in
+     * matrix order.
+     */
+    public List<ProbeResult> probeAll(List<RouteContract> routes) {
+        Semaphore permits = new Semaphore(concurrency);
+        List<CompletableFuture<ProbeResult>> futures = new ArrayList<>();
+
+        for (RouteContract route : routes) {
+            permits.acquireUninterruptibly();
+            futures.add(probe(route, 1).whenComplete((result, error) -> permits.release()));
+        }
+
+        return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+
+    /**
+     * Human-readable table of every route, slowest first, ending with the
+     * failures.
+     */
+    public static String report(List<ProbeResult> results) {
+        StringBuilder out = new StringBuilder();
+        List<ProbeResult> byLatency = new ArrayList<>(results);
+        byLatency.sort(Comparator.comparingLong((ProbeResult r) -> r.latencyMillis).reversed());
+        for (ProbeResult result : byLatency) {
+            out.append(String.format("%-4s %5d ms  %3d  %-6s %s%n",
+                result.route.method, result.latencyMillis, result.status,
+                result.passed() ? "PASS" : "FAIL", result.route.path));
+        }
+
+        List<ProbeResult> failures = failures(results);
+        out.append(results.size() - failures.size()).append("/").append(results.size())
+            .append(" routes honoured their contract");
+        for (ProbeResult failure : failures) {
+            out.append(System.lineSeparator()).append("  ").append(failure.route.method).append(" ")
+                .append(failure.route.path).append(": ").append(String.join("; ", failure.violations));
+        }
+        return out.toString();
+    }
+
+    public static List<ProbeResult> failures(List<ProbeResult> results) {
+        return results.stream().filter(r -> !r.passed()).collect(Collectors.toList());
+    }
+
+    private CompletableFuture<ProbeResult> probe(RouteContract route, int attempt) {
+        HttpRequest.BodyPublisher body = route.body == null
+            ? HttpRequest.BodyPublishers.noBody()
+            : HttpRequest.BodyPublishers.ofString(route.body);
+        HttpRequest request = HttpRequest.newBuilder()
+            .uri(URI.create(baseUrl + route.path))
+            .timeout(requestTimeout)
+            .header("Accept", "application/json")
+            .method(route.method, body)
+            .build();
+
+        long start = System.nanoTime();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+            .handle((response, error) -> {
+                long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                if (error != null) {
+                    return CompletableFuture.completedFuture(
+                        new ProbeResult(route, -1, latency, List.of("request failed: " + rootMessage(error))));
+                }
+                // Rate limiting proves nothing about auth; back off and ask again
+                if (response.statusCode() == 429 && attempt < MAX_ATTEMPTS) {
+                    long delay = retryAfterMillis(response);
+                    return CompletableFuture.supplyAsync(() -> null,
+                            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                        .thenCompose(ignored -> probe(route, attempt + 1));
+                }
+                return CompletableFuture.completedFuture(evaluate(route, response, latency));
+            })
+            .thenCompose(future -> future);
+    }
+
+    private static ProbeResult evaluate(RouteContract route, HttpResponse<String> response, long latency) {
+        List<String> violations = new ArrayList<>();
+        int status = response.statusCode();
+        if (route.expectedStatus != null && !route.expectedStatus.contains(status)) {
+            violations.add("status " + status + " not in " + route.expectedStatus);
+        }
+        String body = response.body() == null ? "" : response.body();
+        for (String forbidden : route.forbiddenBody) {
+            if (body.contains(forbidden)) {
+                violations.add("body contains '" + forbidden + "'");
+            }
+        }
+        return new ProbeResult(route, status, latency, violations);
+    }
+
+    private static long retryAfterMillis(HttpResponse<?> response) {
+        return response.headers().firstValue("Retry-After")
+            .map(value -> {
+                try {
+                    return Math.min(2000L, Long.parseLong(value.trim()) * 1000L);
+                } catch (NumberFormatException e) {
+                    return 500L;
+                }
+            })
+            .orElse(500L);
+    }
+
+    private static String rootMessage(Throwable error) {
+        Throwable root = error;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getClass().getSimpleName() + (root.getMessage() == null ? "" : ": " + root.getMessage());
+    }
+
+    /**
+     * One row of the route matrix.
+     */
+    public static class RouteContract {
+        public String path;
+        public String method;
+        public List<Integer> expectedStatus;
+        public List<String> forbiddenBody;
+        public String body;
+    }
+
+    /**
+     * Outcome of probing a single route.
+     */
+    public static class ProbeResult {
+        public final RouteContract route;
+        public final int status;
+        public final long latencyMillis;
+        public final List<String> violations;
+
+        ProbeResult(RouteContract route, int status, long latencyMillis, List<String> violations) {
+            this.route = route;
+            this.status = status;
+            this.latencyMillis = latencyMillis;
+            this.violations = violations;
+        }
+
+        public boolean passed() {
+            return violations.isEmpty();
+        }
+    }
+
+    private static class Matrix {
+        RouteContract defaults;
+        List<RouteContract> routes = new ArrayList<>();
+    }
+}
@@ -0,0 +1,258 @@
+package com.formaos.utils;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Signs the config.properties test accounts in through the Supabase Auth
+ * password grant, without a browser, and caches one session per role until
+ * it is close to expiry (then refreshes it with the refresh token).
+ *
+ * Roles map to config keys: role "employer" uses employer.email and
+ * employer.password (falling back to test.password). {@link #inject}
+ * installs the session as the chunked sb-&lt;ref&gt;-auth-token cookies that
+ * @supabase/ssr reads, so the first navigation is already authenticated.
+ * This mirrors setPlaywrightSession in e2e/helpers/test-auth.ts.
+ *
+ * Test users have two-factor enabled, so each new session is also recorded
+ * as MFA-passed in user_security (markE2eSessionMfaPassed in the same
+ * helper). That write needs supabase.service.role.key; without it /app
+ * bounces the session to /auth/mfa-challenge.
+ */
+public final class AuthService {
+
+    private static final Logger LOG = Log.get(AuthService.class);
+
+    private static final int COOKIE_CHUNK_SIZE = 3180;
+    private static final Map<String, AuthSession> SESSIONS = new ConcurrentHashMap<>();
+    private static final Map<String, Object> LOCKS = new ConcurrentHashMap<>();
+    private static final HttpClient HTTP = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(15))
+        .build();
+
+    private AuthService() {
+    }
+
+    /**
+     * Cached session for the role, signing in or refreshing as needed.
+     * Concurrent callers for the same role share one sign-in.
+     */
+    public static AuthSession getSession(String role) {
+        ConfigReader config = new ConfigReader();
+        long margin = config.getAuthRefreshMargin() * 1000L;
+        AuthSession session = SESSIONS.get(role);
+        if (session != null && session.isValidFor(margin)) {
+            return session;
+        }
+        synchronized (LOCKS.computeIfAbsent(role, r -> new Object())) {
+            session = SESSIONS.get(role);
+            if (session == null || !session.isValidFor(margin)) {
+                session = session == null ? signIn(config, role) : refresh(config, session);
+                markMfaPassed(config, session);
+                SESSIONS.put(role, session);
+            }
+            return session;
+        }
+    }
+
+    /**
+     * Install the role's session in the browser for the app at baseUrl.
+     * On Chromium the cookies are set over DevTools with no page load; other
+     * browsers need one cheap same-origin request first.
+     */
+    public static AuthSession inject(WebDriver driver, String baseUrl, String role) {
+        AuthSession session = getSession(role);
+        URI base = URI.create(baseUrl);
+        String origin = base.getScheme() + "://" + base.getAuthority();
+        boolean secure = "https".equals(base.getScheme());
+
+        Map<String, String> cookies = new LinkedHashMap<>(session.getCookies());
+        // Same extras as the Playwright helper: skip the consent banner and the E2E rate limits
+        cookies.put("formaos_cookie_consent", "accepted");
+        cookies.put("fos_e2e", "1");
+
+        if (driver instanceof ChromiumDriver) {
+            ChromiumDriver chromium = (ChromiumDriver) driver;
+            // Stale chunks from another role would shadow the new session
+            chromium.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            cookies.forEach((name, value) -> chromium.executeCdpCommand("Network.setCookie", Map.of(
+                "name", name,
+                "value", value,
+                "url", origin,
+                "path", "/",
+                "secure", secure,
+                "httpOnly", "fos_e2e".equals(name),
+                "sameSite", "Lax")));
+        } else {
+            driver.get(origin + "/favicon.ico");
+            driver.manage().deleteAllCookies();
+            cookies.forEach((name, value) -> driver.manage().addCookie(new Cookie.Builder(name, value)
+                .path("/")
+                .isSecure(secure)
+                .isHttpOnly("fos_e2e".equals(name))
+                .sameSite("Lax")
+                .build()));
+        }
+        LOG.info("Signed in as {} ({})", role, session.getUserId());
+        return session;
+    }
+
+    /**
+     * Drop cached sessions, e.g. after a test changed a password.
+     */
+    public static void invalidate(String role) {
+        SESSIONS.remove(role);
+    }
+
+    private static AuthSession signIn(ConfigReader config, String role) {
+        String email = config.getRoleEmail(role);
+        if (email == null || email.isBlank()) {
+            throw new IllegalArgumentException("No " + role + ".email in config.properties");
+        }
+        JsonObject body = new JsonObject();
+        body.addProperty("email", email);
+        body.addProperty("password", config.getRolePassword(role));
+        return toSession(config, role, requestToken(config, "password", body));
+    }
+
+    private static AuthSession refresh(ConfigReader config, AuthSession expired) {
+        JsonObject body = new JsonObject();
+        body.addProperty("refresh_token", expired.getRefreshToken());
+        try {
+            return toSession(config, expired.getRole(), requestToken(config, "refresh_token", body));
+        } catch (IllegalStateException e) {
+            // Refresh tokens are single-use and can be revoked; fall back to a full sign-in
+            return signIn(config, expired.getRole());
+        }
+    }
+
+    /**
+     * Record the session's session_id as MFA-passed so the /app layout gate
+     * admits it. Failures are logged, not thrown, as in the Playwright helper.
+     */
+    private static void markMfaPassed(ConfigReader config, AuthSession session) {
+        String serviceRoleKey = config.getSupabaseServiceRoleKey();
+        String sessionId = sessionIdOf(session.getAccessToken());
+        if (serviceRoleKey.isBlank() || session.getUserId() == null || sessionId == null) {
+            LOG.warn("Session for {} not marked MFA-passed (needs supabase.service.role.key and a session_id claim)",
+                session.getRole());
+            return;
+        }
+        String now = Instant.now().toString();
+        JsonObject row = new JsonObject();
+        row.addProperty("user_id", session.getUserId());
+        row.addProperty("mfa_passed_session_id", sessionId);
+        row.addProperty("mfa_passed_at", now);
+        row.addProperty("mfa_failed_attempts", 0);
+        row.addProperty("updated_at", now);
+        HttpRequest request = HttpRequest.newBuilder()
+            .uri(URI.create(config.getSupabaseUrl() + "/rest/v1/user_security?on_conflict=user_id"))
+            .timeout(Duration.ofSeconds(20))
+            .header("Content-Type", "application/json")
+            .header("apikey", serviceRoleKey)
+            .header("Authorization", "Bearer " + serviceRoleKey)
+            .header("Prefer", "resolution=merge-duplicates,return=minimal")
+            .POST(HttpRequest.BodyPublishers.ofString(row.toString()))
+            .build();
+        try {
+            HttpResponse<String> response = HTTP.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                LOG.warn("Failed to mark {} session MFA-passed: {} {}", session.getRole(),
+                    response.statusCode(), response.body());
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to mark {} session MFA-passed", session.getRole(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted marking the session MFA-passed", e);
+        }
+    }
+
+    /**
+     * The session_id claim of a Supabase access token, read without
+     * verifying the signature. Null for a malformed token.
+     */
+    private static String sessionIdOf(String accessToken) {
+        String[] parts = accessToken.split("\\.");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            JsonObject claims = JsonParser.parseString(
+                new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)).getAsJsonObject();
+            return claims.has("session_id") ? claims.get("session_id").getAsString() : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static String requestToken(ConfigReader config, String grantType, JsonObject body) {
+        String supabaseUrl = config.getSupabaseUrl();
+        String anonKey = config.getSupabaseAnonKey();
+        if (supabaseUrl.isBlank() || anonKey.isBlank()) {
+            throw new IllegalStateException(
+                "API sign-in needs supabase.url and supabase.anon.key (or NEXT_PUBLIC_SUPABASE_URL/_ANON_KEY)");
+        }
+        HttpRequest request = HttpRequest.newBuilder()
+            .uri(URI.create(supabaseUrl + "/auth/v1/token?grant_type=" + grantType))
+            .timeout(Duration.ofSeconds(20))
+            .header("Content-Type", "application/json")
+            .header("apikey", anonKey)
+            .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+            .build();
+        try {
+            HttpResponse<String> response = HTTP.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Supabase " + grantType + " grant returned "
+                    + response.statusCode() + ": " + response.body());
+            }
+            return response.body();
+        } catch (IOException e) {
+            throw new IllegalStateException("Supabase " + grantType + " grant failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during Supabase sign-in", e);
+        }
+    }
+
+    private static AuthSession toSession(ConfigReader config, String role, String json) {
+        JsonObject session = JsonParser.parseString(json).getAsJsonObject();
+        long expiresAt = session.has("expires_at")
+            ? session.get("expires_at").getAsLong() * 1000L
+            : System.currentTimeMillis() + session.get("expires_in").getAsLong() * 1000L;
+        String userId = session.has("user") ? session.getAsJsonObject("user").get("id").getAsString() : null;
+
+        // @supabase/ssr stores the whole session JSON, base64url-encoded, in
+        // sb-<project-ref>-auth-token, split into .0/.1/... chunks when long
+        String value = "base64-" + Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(json.getBytes(StandardCharsets.UTF_8));
+        String name = "sb-" + URI.create(config.getSupabaseUrl()).getHost().split("\\.")[0] + "-auth-token";
+        Map<String, String> cookies = new LinkedHashMap<>();
+        if (value.length() <= COOKIE_CHUNK_SIZE) {
+            cookies.put(name, value);
+        } else {
+            for (int i = 0, start = 0; start < value.length(); i++, start += COOKIE_CHUNK_SIZE) {
+                cookies.put(name + "." + i, value.substring(start, Math.min(value.length(), start + COOKIE_CHUNK_SIZE)));
+            }
+        }
+        return new AuthSession(role, userId, session.get("access_token").getAsString(),
+            session.get("refresh_token").getAsString(), expiresAt, cookies);
+    }
+}
@@ -0,0 +1,85 @@
+package com.formaos.utils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A signed-in Supabase session for one test role, plus the browser cookies
+ * that carry it. Immutable; {@link AuthService} replaces it when it expires.
+ */
+public class AuthSession {
+
+    private final String role;
+    private final String userId;
+    private final String accessToken;
+    private final String refreshToken;
+    private final long expiresAtMillis;
+    private final Map<String, String> cookies;
+
+    AuthSession(String role, String userId, String accessToken, String refreshToken, long expiresAtMillis,
+                Map<String, String> cookies) {
+        this.role = role;
+        this.userId = userId;
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+        this.expiresAtMillis = expiresAtMillis;
+        this.cookies = Collections.unmodifiableMap(new LinkedHashMap<>(cookies));
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    /**
+     * Bearer token for calling the app's API directly.
+     */
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    /**
+     * Whether the session is still valid for at least the given margin.
+     */
+    public boolean isValidFor(long marginMillis) {
+        return System.currentTimeMillis() + marginMillis < expiresAtMillis;
+    }
+
+    /**
+     * Auth cookie chunks by name, in the form @supabase/ssr reads them.
+     */
+    public Map<String, String> getCookies() {
+        return cookies;
+    }
+
+    /**
+     * "Cookie" request header value, for browserless requests as this role.
+     */
+    public String toCookieHeader() {
+        StringBuilder header = new StringBuilder();
+        for (Map.Entry<String, String> cookie : cookies.entrySet()) {
+            if (header.length() > 0) {
+                header.append("; ");
+            }
+            header.append(cookie.getKey()).append('=').append(cookie.getValue());
+        }
+        return header.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "AuthSession{role=" + role + ", user=" + userId + ", expiresAt=" + expiresAtMillis + "}";
+    }
+}
@@ -0,0 +1,218 @@
+package com.formaos.utils;
+
+import com.google.gson.GsonBuilder;
+import org.apache.logging.log4j.Logger;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cross-browser matrix mode.
+ *
+ * With matrix.browsers set, {@link ParallelSuiteConfigurer} calls
+ * {@link #expand} to turn every browser-driven &lt;test&gt; into one copy per
+ * browser (named "Test [browser]", with the browser parameter set) and to
+ * run the copies side by side with parallel="tests", at most
+ * matrix.max.concurrency at once. Sessions still come from the shared
+ * {@link DriverPool}, whose max size caps browsers across the whole matrix.
+ *
+ * As a listener it collects the outcome of every (test, browser) pair and
+ * prints one grid at suite end, also written as browser-matrix-*.json under
+ * report.path (or the directory it was constructed with).
+ */
+public class BrowserMatrix implements ITestListener, ISuiteListener {
+
+    private static final Logger LOG = Log.get(BrowserMatrix.class);
+
+    private final Map<String, Map<String, Cell>> cells = new ConcurrentHashMap<>();
+    private final Map<String, long[]> wallClock = new ConcurrentHashMap<>();
+    private final Path outputDirectory;
+
+    public BrowserMatrix() {
+        this(Paths.get(new ConfigReader().getReportPath()));
+    }
+
+    public BrowserMatrix(Path outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    /**
+     * Replace the suite's tests with one copy per browser. Tests with the
+     * parameter matrix=false (checks that only need one browser) are
+     * kept once.
+     */
+    public static void expand(XmlSuite suite, List<String> browsers, int concurrency) {
+        List<XmlTest> expanded = new ArrayList<>();
+        for (XmlTest test : new ArrayList<>(suite.getTests())) {
+            if ("false".equalsIgnoreCase(test.getParameter("matrix"))) {
+                expanded.add(test);
+                continue;
+            }
+            for (String browser : browsers) {
+                XmlTest copy = (XmlTest) test.clone();
+                copy.setName(test.getName() + " [" + browser + "]");
+                copy.setPreserveOrder(test.getPreserveOrder());
+                copy.addParameter("browser", browser);
+                List<XmlClass> classes = new ArrayList<>();
+                for (XmlClass xmlClass : test.getXmlClasses()) {
+                    XmlClass classCopy = (XmlClass) xmlClass.clone();
+                    classCopy.setXmlTest(copy);
+                    classes.add(classCopy);
+                }
+                copy.setXmlClasses(classes);
+                expanded.add(copy);
+            }
+        }
+        suite.setTests(expanded);
+        suite.setParallel(XmlSuite.ParallelMode.TESTS);
+        suite.setThreadCount(concurrency);
+        LOG.info("Browser matrix {}: {} tests, {} at a time", browsers, expanded.size(), concurrency);
+    }
+
+    /**
+     * Browser a result ran on: its test's browser parameter, else config.
+     */
+    public static String browserOf(ITestResult result) {
+        String browser = result.getTestContext().getCurrentXmlTest().getParameter("browser");
+        return browser == null ? DriverManager.getConfig().getBrowser() : browser;
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result, "PASS");
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result, "FAIL");
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        record(result, "SKIP");
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (cells.isEmpty()) {
+            return;
+        }
+        Set<String> browsers = new TreeSet<>(wallClock.keySet());
+        if (browsers.size() < 2 && new ConfigReader().getMatrixBrowsers().isBlank()) {
+            return;
+        }
+        LOG.info(grid(browsers));
+        write(browsers);
+    }
+
+    /**
+     * PASS, FAIL or SKIP for a qualified test method on a browser, or null.
+     */
+    public String getStatus(String test, String browser) {
+        Cell cell = cells.getOrDefault(test, Map.of()).get(browser);
+        return cell == null ? null : cell.status;
+    }
+
+    /**
+     * Start and end epoch millis of everything that ran on a browser, or
+     * null if nothing did.
+     */
+    public long[] getWallClock(String browser) {
+        long[] span = wallClock.get(browser);
+        return span == null ? null : span.clone();
+    }
+
+    private void record(ITestResult result, String status) {
+        String browser = browserOf(result);
+        // A retried test keeps its latest outcome
+        cells.computeIfAbsent(result.getMethod().getQualifiedName(), k -> new ConcurrentHashMap<>())
+            .put(browser, new Cell(status, result.getEndMillis() - result.getStartMillis()));
+        wallClock.merge(browser, new long[] {result.getStartMillis(), result.getEndMillis()},
+            (a, b) -> new long[] {Math.min(a[0], b[0]), Math.max(a[1], b[1])});
+    }
+
+    String grid(Set<String> browsers) {
+        StringBuilder out = new StringBuilder("Browser matrix:").append(System.lineSeparator());
+        out.append(String.format("  %-60s", "test"));
+        browsers.forEach(b -> out.append(String.format(" %16s", b)));
+        out.append(System.lineSeparator());
+        for (Map.Entry<String, Map<String, Cell>> row : new TreeMap<>(cells).entrySet()) {
+            out.append(String.format("  %-60s", abbreviate(row.getKey(), 60)));
+            for (String browser : browsers) {
+                Cell cell = row.getValue().get(browser);
+                out.append(String.format(" %16s", cell == null ? "-" : cell.status + " " + cell.millis + "ms"));
+            }
+            out.append(System.lineSeparator());
+        }
+
+        long sum = 0;
+        long first = Long.MAX_VALUE;
+        long last = 0;
+        for (String browser : browsers) {
+            long[] span = wallClock.get(browser);
+            sum += span[1] - span[0];
+            first = Math.min(first, span[0]);
+            last = Math.max(last, span[1]);
+            long failed = cells.values().stream()
+                .filter(r -> r.containsKey(browser) && "FAIL".equals(r.get(browser).status)).count();
+            out.append(String.format("  %-16s wall %6d ms, %d failed%n", browser, span[1] - span[0], failed));
+        }
+        out.append(String.format("  matrix wall %d ms (browsers one after another: %d ms)%n", last - first, sum));
+        return out.toString();
+    }
+
+    private void write(Set<String> browsers) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("browsers", browsers);
+        Map<String, Map<String, Cell>> sorted = new TreeMap<>();
+        cells.forEach((test, row) -> sorted.put(test, new TreeMap<>(row)));
+        report.put("results", sorted);
+        Map<String, Long> walls = new TreeMap<>();
+        wallClock.forEach((browser, span) -> walls.put(browser, span[1] - span[0]));
+        report.put("wallMillis", walls);
+        try {
+            Files.createDirectories(outputDirectory);
+            Path file = outputDirectory.resolve("browser-matrix-" + new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date())
+                + ".json");
+            Files.writeString(file, new GsonBuilder().setPrettyPrinting().create().toJson(report),
+                StandardCharsets.UTF_8);
+            LOG.info("Browser matrix written: {}", file);
+        } catch (IOException e) {
+            LOG.warn("Failed to write browser matrix", e);
+        }
+    }
+
+    private static String abbreviate(String name, int width) {
+        return name.length() <= width ? name : "…" + name.substring(name.length() - width + 1);
+    }
+
+    private static class Cell {
+        final String status;
+        final long millis;
+
+        Cell(String status, long millis) {
+            this.status = status;
+            this.millis = millis;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.formaos.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the WebDriver commands a page object sends: every call on the
+ * driver, its elements, options, timeouts, navigation and target locator.
+ * Each is one round trip to the browser driver. Plain Java methods
+ * (toString, equals, unwrapping) and the accessors that only return those
+ * helper objects (manage(), timeouts(), navigate(), ...) are not counted.
+ */
+public class CommandCounter implements WebDriverListener {
+
+    private static final Set<String> LOCAL_METHODS = Set.of(
+        "toString", "hashCode", "equals", "getWrappedDriver", "getWrappedElement", "getId",
+        "manage", "timeouts", "window", "navigate", "switchTo");
+
+    private final AtomicLong commands = new AtomicLong();
+
+    /**
+     * Wrap the driver so every command through the returned instance is
+     * counted. Callers that need the concrete driver class (DevTools) keep
+     * using the original.
+     */
+    public WebDriver decorate(WebDriver driver) {
+        return new EventFiringDecorator<>(this).decorate(driver);
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (!LOCAL_METHODS.contains(method.getName())) {
+            commands.incrementAndGet();
+        }
+    }
+
+    public long get() {
+        return commands.get();
+    }
+
+    /**
+     * Current count, then start again from zero.
+     */
+    public long reset() {
+        return commands.getAndSet(0);
+    }
+}
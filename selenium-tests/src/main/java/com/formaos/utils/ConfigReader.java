@@ -2,7 +2,12 @@ package com.formaos.utils;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
 
 public class ConfigReader {
     private Properties properties;
@@ -21,6 +26,26 @@ public class ConfigReader {
         return properties.getProperty("base.url");
     }
     
+    /**
+     * URL for "local", "staging" or "production"; anything else is taken
+     * to be a URL already.
+     */
+    public String resolveEnvironmentUrl(String environment) {
+        switch (environment.trim().toLowerCase()) {
+            case "local":
+                return getBaseUrl();
+            case "staging":
+                return properties.getProperty("staging.url");
+            case "production":
+                return properties.getProperty("production.url");
+            default:
+                if (!environment.startsWith("http")) {
+                    throw new IllegalArgumentException("Unknown environment: " + environment);
+                }
+                return environment.trim();
+        }
+    }
+    
     public String getBrowser() {
         return properties.getProperty("browser", "chrome");
     }
@@ -40,4 +65,447 @@ public class ConfigReader {
     public int getPageLoadTimeout() {
         return Integer.parseInt(properties.getProperty("page.load.timeout", "30"));
     }
+    
+    public int getScriptTimeout() {
+        return Integer.parseInt(properties.getProperty("script.timeout", "5"));
+    }
+    
+    /**
+     * "off", "record" or "replay".
+     */
+    public String getFixtureMode() {
+        return properties.getProperty("fixture.mode", "off").trim();
+    }
+    
+    public String getFixtureArchive() {
+        return properties.getProperty("fixture.archive", "fixtures/recordings/suite.json.gz");
+    }
+    
+    public int getFixturePort() {
+        return Integer.parseInt(properties.getProperty("fixture.port", "0"));
+    }
+    
+    public String getFixtureIgnoredParams() {
+        return properties.getProperty("fixture.ignore.params", "_rsc");
+    }
+    
+    /**
+     * "local", "staging", "production" or a URL.
+     */
+    public String getMonitorTarget() {
+        return properties.getProperty("monitor.target", "staging");
+    }
+    
+    public String getMonitorJourneys() {
+        return properties.getProperty("monitor.journeys", "homepage-cta,signin-redirect,anonymous-api");
+    }
+    
+    public long getMonitorIntervalSeconds() {
+        return Long.parseLong(properties.getProperty("monitor.interval.seconds", "60"));
+    }
+    
+    public String getMonitorHost() {
+        return properties.getProperty("monitor.host", "127.0.0.1");
+    }
+    
+    public int getMonitorPort() {
+        return Integer.parseInt(properties.getProperty("monitor.port", "9464"));
+    }
+    
+    public String getMonitorBrowser() {
+        return properties.getProperty("monitor.browser", "chrome-headless");
+    }
+    
+    /**
+     * Runs one monitor browser session serves before it is replaced.
+     */
+    public int getMonitorBrowserMaxRuns() {
+        return Integer.parseInt(properties.getProperty("monitor.browser.max.runs", "50"));
+    }
+    
+    public String getMonitorApiRoutes() {
+        return properties.getProperty("monitor.api.routes",
+            "/api/v1/evidence,/api/v1/tasks,/api/v1/members,/api/onboarding-state");
+    }
+    
+    public boolean isWarmupEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("warmup.enabled", "true"));
+    }
+    
+    /**
+     * Classpath resource listing extra routes to warm, one path per line.
+     */
+    public String getWarmupManifest() {
+        return properties.getProperty("warmup.manifest", "warmup/routes.txt");
+    }
+    
+    public int getWarmupConcurrency() {
+        return Integer.parseInt(properties.getProperty("warmup.concurrency", "8"));
+    }
+    
+    public long getWarmupStableMillis() {
+        return Long.parseLong(properties.getProperty("warmup.stable.ms", "1500"));
+    }
+    
+    public int getWarmupMaxAttempts() {
+        return Integer.parseInt(properties.getProperty("warmup.max.attempts", "8"));
+    }
+    
+    /**
+     * Overall warm-up limit in seconds.
+     */
+    public int getWarmupTimeout() {
+        return Integer.parseInt(properties.getProperty("warmup.timeout", "180"));
+    }
+    
+    public int getHttpMaxRedirects() {
+        return Integer.parseInt(properties.getProperty("http.max.redirects", "10"));
+    }
+    
+    public int getPollingInterval() {
+        return Integer.parseInt(properties.getProperty("polling.interval", "500"));
+    }
+    
+    public int getNetworkIdleQuietPeriod() {
+        return Integer.parseInt(properties.getProperty("network.idle.quiet.ms", "500"));
+    }
+    
+    public int getBrowserWidth() {
+        return Integer.parseInt(properties.getProperty("browser.width", "1920"));
+    }
+    
+    public int getBrowserHeight() {
+        return Integer.parseInt(properties.getProperty("browser.height", "1080"));
+    }
+    
+    public boolean isDriverPoolEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("driver.pool.enabled", "true"));
+    }
+    
+    public int getDriverPoolMinSize() {
+        return Integer.parseInt(properties.getProperty("driver.pool.min.size", "0"));
+    }
+    
+    public int getDriverPoolMaxSize() {
+        return parseCount(properties.getProperty("driver.pool.max.size", "auto"));
+    }
+    
+    public int getDriverPoolMaxReuse() {
+        return Integer.parseInt(properties.getProperty("driver.pool.max.reuse", "25"));
+    }
+    
+    public int getDriverPoolAcquireTimeout() {
+        return Integer.parseInt(properties.getProperty("driver.pool.acquire.timeout", "120"));
+    }
+    
+    public boolean isDriverOffline() {
+        return Boolean.parseBoolean(properties.getProperty("driver.offline", "false"));
+    }
+    
+    public String getChromeDriverPath() {
+        return properties.getProperty("driver.chrome.path", "");
+    }
+    
+    public String getFirefoxDriverPath() {
+        return properties.getProperty("driver.firefox.path", "");
+    }
+    
+    public String getDriverCachePath() {
+        return properties.getProperty("driver.cache.path",
+            System.getProperty("user.home") + "/.cache/selenium");
+    }
+    
+    public String getSupabaseUrl() {
+        return propertyOrEnv("supabase.url", "NEXT_PUBLIC_SUPABASE_URL").replaceAll("/+$", "");
+    }
+    
+    public String getSupabaseAnonKey() {
+        return propertyOrEnv("supabase.anon.key", "NEXT_PUBLIC_SUPABASE_ANON_KEY");
+    }
+    
+    public String getSupabaseServiceRoleKey() {
+        return propertyOrEnv("supabase.service.role.key", "SUPABASE_SERVICE_ROLE_KEY");
+    }
+    
+    /**
+     * Account email for a test role ("test", "employer", "employee").
+     */
+    public String getRoleEmail(String role) {
+        return properties.getProperty(role + ".email");
+    }
+    
+    public String getRolePassword(String role) {
+        return properties.getProperty(role + ".password", properties.getProperty("test.password"));
+    }
+    
+    public int getAuthRefreshMargin() {
+        return Integer.parseInt(properties.getProperty("auth.refresh.margin", "60"));
+    }
+    
+    public boolean isRetryEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("retry.failed.tests", "false"));
+    }
+    
+    public int getMaxRetryCount() {
+        return Integer.parseInt(properties.getProperty("max.retry.count", "0"));
+    }
+    
+    public String getLogLevel() {
+        return properties.getProperty("log.level", "INFO");
+    }
+    
+    public String getLogPath() {
+        return properties.getProperty("log.path", "test-results/logs/");
+    }
+    
+    /**
+     * Console output besides the JSON log file: "text", "json" or "off";
+     * the log.console system property takes precedence.
+     */
+    public String getLogConsole() {
+        return System.getProperty("log.console", properties.getProperty("log.console", "text")).trim().toLowerCase();
+    }
+    
+    public int getLogBufferSize() {
+        return Integer.parseInt(properties.getProperty("log.buffer.size", "8192"));
+    }
+    
+    public String getReportPath() {
+        return properties.getProperty("report.path", "test-results/reports/");
+    }
+    
+    public String getExtentReportName() {
+        return properties.getProperty("extent.report.name", "FormaOS-Test-Report.html");
+    }
+    
+    
+    public boolean isTimingEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("timing.enabled", "true"));
+    }
+    
+    public boolean isTimingJfrEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("timing.jfr", "true"));
+    }
+    
+    public int getTimingSlowestCount() {
+        return Integer.parseInt(properties.getProperty("timing.slowest.count", "10"));
+    }
+    
+    public int getApiProbeConcurrency() {
+        return Integer.parseInt(properties.getProperty("api.probe.concurrency", "32"));
+    }
+    
+    public String getParallelMode() {
+        return properties.getProperty("parallel.mode", "methods");
+    }
+    
+    public int getThreadCount() {
+        return parseCount(properties.getProperty("thread.count", "auto"));
+    }
+    
+    /**
+     * Comma-separated browsers for matrix mode; blank runs one browser.
+     * The matrix.browsers system property takes precedence, so CI can turn
+     * the matrix on without editing this file.
+     */
+    public String getMatrixBrowsers() {
+        return System.getProperty("matrix.browsers", properties.getProperty("matrix.browsers", "")).trim();
+    }
+    
+    /**
+     * Browser/test combinations running at once in matrix mode.
+     */
+    public int getMatrixMaxConcurrency() {
+        return parseCount(properties.getProperty("matrix.max.concurrency", "auto"));
+    }
+    
+    public String getImpactMapPath() {
+        return properties.getProperty("impact.map.path", "test-results/history/test-routes.json");
+    }
+    
+    /**
+     * Comma-separated changed files (repository-relative); the
+     * impact.changed.files system property takes precedence.
+     */
+    public String getImpactChangedFiles() {
+        return System.getProperty("impact.changed.files", properties.getProperty("impact.changed.files", "")).trim();
+    }
+    
+    /**
+     * File listing changed files one per line, e.g. `git diff --name-only`
+     * output; the system property takes precedence.
+     */
+    public String getImpactChangedFilesFrom() {
+        return System.getProperty("impact.changed.files.from",
+            properties.getProperty("impact.changed.files.from", "")).trim();
+    }
+    
+    public String getImpactSmoke() {
+        return properties.getProperty("impact.smoke", "");
+    }
+    
+    public String getImpactAppDirs() {
+        return properties.getProperty("impact.app.dirs", "app");
+    }
+    
+    public String getImpactIgnoredFiles() {
+        return properties.getProperty("impact.ignored.files", "*.md,docs/*");
+    }
+    
+    public boolean isScheduleEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("schedule.enabled", "true"));
+    }
+    
+    public String getScheduleHistoryPath() {
+        return properties.getProperty("schedule.history.path", "test-results/history/test-durations.json");
+    }
+    
+    /**
+     * Weight of the latest run in a method's moving average (0..1).
+     */
+    public double getScheduleHistoryWeight() {
+        return Double.parseDouble(properties.getProperty("schedule.history.weight", "0.3"));
+    }
+    
+    public long getScheduleDefaultEstimate() {
+        return Long.parseLong(properties.getProperty("schedule.default.estimate.ms", "15000"));
+    }
+    
+    public String getScreenshotPath() {
+        return properties.getProperty("screenshot.path", "test-results/screenshots/");
+    }
+    
+    public boolean isScreencastEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("screencast.enabled", "true"));
+    }
+    
+    /**
+     * Seconds of screen kept before a failure.
+     */
+    public int getScreencastSeconds() {
+        return Integer.parseInt(properties.getProperty("screencast.seconds", "10"));
+    }
+    
+    public int getScreencastMaxFrames() {
+        return Integer.parseInt(properties.getProperty("screencast.max.frames", "120"));
+    }
+    
+    /**
+     * Upper bound on buffered image data per session, in KB.
+     */
+    public int getScreencastMaxKb() {
+        return Integer.parseInt(properties.getProperty("screencast.max.kb", "3072"));
+    }
+    
+    public int getScreencastMaxWidth() {
+        return Integer.parseInt(properties.getProperty("screencast.max.width", "640"));
+    }
+    
+    public int getScreencastMaxHeight() {
+        return Integer.parseInt(properties.getProperty("screencast.max.height", "400"));
+    }
+    
+    public int getScreencastQuality() {
+        return Integer.parseInt(properties.getProperty("screencast.quality", "50"));
+    }
+    
+    public int getScreencastEveryNthFrame() {
+        return Integer.parseInt(properties.getProperty("screencast.every.nth.frame", "2"));
+    }
+    
+    public int getEvidenceQueueCapacity() {
+        return Integer.parseInt(properties.getProperty("evidence.queue.capacity", "64"));
+    }
+    
+    public long getEvidenceOfferTimeout() {
+        return Long.parseLong(properties.getProperty("evidence.queue.offer.timeout", "2000"));
+    }
+    
+    public long getEvidenceFlushTimeout() {
+        return Long.parseLong(properties.getProperty("evidence.flush.timeout", "30000"));
+    }
+    
+    public boolean isPerfCaptureEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("perf.capture", "true"));
+    }
+    
+    /**
+     * "warn" logs budget breaches; "fail" fails the test at the navigation.
+     */
+    public String getPerfBudgetMode() {
+        return properties.getProperty("perf.budget.mode", "warn");
+    }
+    
+    public boolean isNetworkBlockingEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("network.blocking", "true"));
+    }
+    
+    public String getNetworkBlocklist() {
+        return properties.getProperty("network.blocklist", "");
+    }
+    
+    /**
+     * network.stub.&lt;name&gt;=&lt;url glob&gt; -&gt; &lt;classpath fixture&gt;, as glob to fixture.
+     */
+    public Map<String, String> getNetworkStubs() {
+        Map<String, String> stubs = new LinkedHashMap<>();
+        for (String value : getPropertiesWithPrefix("network.stub.").values()) {
+            String[] parts = value.split("->");
+            if (parts.length == 2) {
+                stubs.put(parts[0].trim(), parts[1].trim());
+            }
+        }
+        return stubs;
+    }
+    
+    /**
+     * Split a comma-separated property value, dropping blanks.
+     */
+    public static List<String> splitList(String value) {
+        List<String> items = new ArrayList<>();
+        if (value == null) {
+            return items;
+        }
+        for (String item : value.split(",")) {
+            if (!item.isBlank()) {
+                items.add(item.trim());
+            }
+        }
+        return items;
+    }
+    
+    /**
+     * All properties whose key starts with the prefix, keyed by the rest of
+     * the key.
+     */
+    public Map<String, String> getPropertiesWithPrefix(String prefix) {
+        Map<String, String> matches = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                matches.put(key.substring(prefix.length()), properties.getProperty(key));
+            }
+        }
+        return matches;
+    }
+    
+    /**
+     * Property value, or the environment variable when the property is blank.
+     */
+    private String propertyOrEnv(String key, String envName) {
+        String value = properties.getProperty(key, "");
+        if (value.isBlank()) {
+            value = System.getenv().getOrDefault(envName, "");
+        }
+        return value.trim();
+    }
+    
+    /**
+     * Parse a thread/session count where "auto" means one per available core.
+     */
+    private int parseCount(String value) {
+        if ("auto".equalsIgnoreCase(value.trim())) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        return Integer.parseInt(value.trim());
+    }
 }
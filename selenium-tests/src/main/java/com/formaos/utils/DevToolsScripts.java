@@ -0,0 +1,52 @@
+package com.formaos.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.ChromiumDriver;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Registers page instrumentation to run before any page script on every
+ * future document of a Chromium session, once per script per session.
+ * Pooled sessions keep their registrations across tests.
+ */
+public final class DevToolsScripts {
+
+    private static final Logger LOG = Log.get(DevToolsScripts.class);
+
+    private static final Map<WebDriver, Set<String>> INSTALLED = new WeakHashMap<>();
+
+    private DevToolsScripts() {
+    }
+
+    /**
+     * @return true if the script is (now) registered, false for non-Chromium
+     *         drivers or when CDP is unavailable; callers then inject lazily
+     */
+    public static boolean addOnNewDocument(WebDriver driver, String id, String source) {
+        if (!(driver instanceof ChromiumDriver)) {
+            return false;
+        }
+        synchronized (INSTALLED) {
+            if (!INSTALLED.computeIfAbsent(driver, d -> new HashSet<>()).add(id)) {
+                return true;
+            }
+        }
+        try {
+            ((ChromiumDriver) driver).executeCdpCommand(
+                "Page.addScriptToEvaluateOnNewDocument", Map.of("source", source));
+            return true;
+        } catch (WebDriverException e) {
+            synchronized (INSTALLED) {
+                INSTALLED.get(driver).remove(id);
+            }
+            LOG.warn("CDP script '{}' unavailable", id, e);
+            return false;
+        }
+    }
+}
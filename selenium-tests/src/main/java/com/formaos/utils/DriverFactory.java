@@ -1,40 +1,88 @@
 package com.formaos.utils;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 public class DriverFactory {
     
+    private static final Logger LOG = Log.get(DriverFactory.class);
+    
+    private static final boolean POOL_ENABLED = new ConfigReader().isDriverPoolEnabled();
+    
+    private static final AtomicLong LAUNCHES = new AtomicLong();
+    private static final AtomicLong DRIVER_STARTUP_NANOS = new AtomicLong();
+    private static final AtomicLong BROWSER_STARTUP_NANOS = new AtomicLong();
+    
+    /**
+     * Get a driver for the browser. With driver.pool.enabled this is a warm,
+     * reset session from {@link DriverPool}; hand it back with
+     * {@link #releaseDriver(WebDriver)} rather than calling quit().
+     */
     public static WebDriver getDriver(String browser) {
+        if (POOL_ENABLED) {
+            return DriverPool.getInstance().acquire(browser);
+        }
+        return createDriver(browser);
+    }
+    
+    /**
+     * Return a driver obtained from {@link #getDriver(String)}.
+     */
+    public static void releaseDriver(WebDriver driver) {
+        if (POOL_ENABLED) {
+            DriverPool.getInstance().release(driver);
+        } else {
+            NetworkControl.release(driver);
+            driver.quit();
+        }
+    }
+    
+    /**
+     * Mark a driver as unfit for reuse; it is quit when released.
+     */
+    public static void markForDisposal(WebDriver driver) {
+        if (POOL_ENABLED) {
+            DriverPool.getInstance().markForDisposal(driver);
+        }
+    }
+    
+    /**
+     * Launch a brand-new browser session, bypassing the pool.
+     */
+    public static WebDriver createDriver(String browser) {
         WebDriver driver;
         
         switch (browser.toLowerCase()) {
             case "chrome":
-                WebDriverManager.chromedriver().setup();
                 ChromeOptions chromeOptions = new ChromeOptions();
                 chromeOptions.addArguments("--disable-notifications");
                 chromeOptions.addArguments("--disable-popup-blocking");
                 chromeOptions.addArguments("--start-maximized");
-                driver = new ChromeDriver(chromeOptions);
+                driver = startChrome(chromeOptions);
                 break;
                 
             case "firefox":
-                WebDriverManager.firefoxdriver().setup();
                 FirefoxOptions firefoxOptions = new FirefoxOptions();
-                driver = new FirefoxDriver(firefoxOptions);
+                driver = startFirefox(firefoxOptions);
                 break;
                 
             case "chrome-headless":
-                WebDriverManager.chromedriver().setup();
                 ChromeOptions headlessOptions = new ChromeOptions();
                 headlessOptions.addArguments("--headless");
                 headlessOptions.addArguments("--disable-gpu");
                 headlessOptions.addArguments("--window-size=1920,1080");
-                driver = new ChromeDriver(headlessOptions);
+                driver = startChrome(headlessOptions);
                 break;
                 
             default:
@@ -43,4 +91,62 @@ public class DriverFactory {
         
         return driver;
     }
+    
+    /**
+     * Cumulative driver-process and browser-session startup times.
+     */
+    public static String getStartupStats() {
+        long n = Math.max(1, LAUNCHES.get());
+        return "launches=" + LAUNCHES.get()
+            + ", driverStartupMs=" + DRIVER_STARTUP_NANOS.get() / 1_000_000
+            + " (avg " + DRIVER_STARTUP_NANOS.get() / n / 1_000_000 + ")"
+            + ", browserStartupMs=" + BROWSER_STARTUP_NANOS.get() / 1_000_000
+            + " (avg " + BROWSER_STARTUP_NANOS.get() / n / 1_000_000 + ")";
+    }
+    
+    private static WebDriver startChrome(ChromeOptions options) {
+        ChromeDriverService service = new ChromeDriverService.Builder()
+            .usingDriverExecutable(DriverResolver.resolve("chrome"))
+            .usingAnyFreePort()
+            .build();
+        return startSession(service, () -> new ChromeDriver(service, options));
+    }
+    
+    private static WebDriver startFirefox(FirefoxOptions options) {
+        GeckoDriverService service = new GeckoDriverService.Builder()
+            .usingDriverExecutable(DriverResolver.resolve("firefox"))
+            .usingAnyFreePort()
+            .build();
+        return startSession(service, () -> new FirefoxDriver(service, options));
+    }
+    
+    /**
+     * Start the driver process, then the browser session, timing each
+     * separately. The session owns the service and stops it on quit().
+     */
+    private static WebDriver startSession(DriverService service, Supplier<WebDriver> session) {
+        long start = System.nanoTime();
+        try {
+            service.start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to start driver service: " + e.getMessage(), e);
+        }
+        long driverReady = System.nanoTime();
+        
+        WebDriver driver;
+        try {
+            driver = session.get();
+        } catch (RuntimeException e) {
+            service.stop();
+            throw e;
+        }
+        long browserReady = System.nanoTime();
+        
+        LAUNCHES.incrementAndGet();
+        DRIVER_STARTUP_NANOS.addAndGet(driverReady - start);
+        BROWSER_STARTUP_NANOS.addAndGet(browserReady - driverReady);
+        LOG.info("Driver started in {} ms, browser in {} ms",
+            (driverReady - start) / 1_000_000, (browserReady - driverReady) / 1_000_000);
+        return driver;
+    }
 }
@@ -0,0 +1,84 @@
+package com.formaos.utils;
+
+import org.openqa.selenium.WebDriver;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Per-thread holder for the WebDriver, config and evidence directory of the
+ * test currently running on that thread. Lets TestNG run methods of one
+ * test-class instance on several threads without sharing a browser.
+ */
+public final class DriverManager {
+
+    private static final ThreadLocal<WebDriver> DRIVER = new ThreadLocal<>();
+    private static final ThreadLocal<PageReadiness> READINESS = new ThreadLocal<>();
+    private static final ThreadLocal<NetworkControl> NETWORK = new ThreadLocal<>();
+    private static final ThreadLocal<ScreencastRecorder> SCREENCAST = new ThreadLocal<>();
+    private static final ThreadLocal<ConfigReader> CONFIG = ThreadLocal.withInitial(ConfigReader::new);
+
+    private DriverManager() {
+    }
+
+    public static WebDriver getDriver() {
+        return DRIVER.get();
+    }
+
+    public static void setDriver(WebDriver driver) {
+        DRIVER.set(driver);
+    }
+
+    public static PageReadiness getReadiness() {
+        return READINESS.get();
+    }
+
+    public static void setReadiness(PageReadiness readiness) {
+        READINESS.set(readiness);
+    }
+
+    public static NetworkControl getNetworkControl() {
+        return NETWORK.get();
+    }
+
+    public static void setNetworkControl(NetworkControl network) {
+        NETWORK.set(network);
+    }
+
+    public static ScreencastRecorder getScreencast() {
+        return SCREENCAST.get();
+    }
+
+    public static void setScreencast(ScreencastRecorder screencast) {
+        SCREENCAST.set(screencast);
+    }
+
+    /**
+     * Forget this thread's driver. Does not quit or release it.
+     */
+    public static void removeDriver() {
+        DRIVER.remove();
+        READINESS.remove();
+        NETWORK.remove();
+        SCREENCAST.remove();
+    }
+
+    public static ConfigReader getConfig() {
+        return CONFIG.get();
+    }
+
+    /**
+     * Name of the current worker thread, safe for use in file paths.
+     */
+    public static String getWorkerName() {
+        return Thread.currentThread().getName().replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    /**
+     * Screenshot/evidence directory for this worker, so parallel threads
+     * never write into each other's files.
+     */
+    public static Path getEvidenceDir() {
+        return Paths.get(getConfig().getScreenshotPath(), getWorkerName());
+    }
+}
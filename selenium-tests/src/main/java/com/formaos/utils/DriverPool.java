@@ -0,0 +1,351 @@
+package com.formaos.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of warm browser sessions shared by all test methods in the JVM.
+ *
+ * A released session is reset (cookies, local/session storage, extra tabs,
+ * window size) and handed to the next test instead of being quit, so only
+ * the first test per pool slot pays a browser launch. Sessions are quit
+ * when a test marks them for disposal, when the reset fails, or once they
+ * have served driver.pool.max.reuse tests.
+ */
+public class DriverPool {
+
+    private static final Logger LOG = Log.get(DriverPool.class);
+
+    private static final DriverPool INSTANCE = new DriverPool(new ConfigReader());
+
+    private final int minSize;
+    private final int maxSize;
+    private final int maxReuse;
+    private final long acquireTimeoutMillis;
+    private final Dimension windowSize;
+
+    private final Map<String, Deque<PooledSession>> idle = new HashMap<>();
+    private final Map<WebDriver, PooledSession> leased = new IdentityHashMap<>();
+    private int liveSessions;
+    private boolean warmedUp;
+
+    private final AtomicLong launches = new AtomicLong();
+    private final AtomicLong reuses = new AtomicLong();
+    private final AtomicLong disposals = new AtomicLong();
+    private final AtomicLong resetFailures = new AtomicLong();
+
+    DriverPool(ConfigReader config) {
+        this.minSize = Math.max(0, config.getDriverPoolMinSize());
+        this.maxSize = Math.max(1, config.getDriverPoolMaxSize());
+        this.maxReuse = Math.max(1, config.getDriverPoolMaxReuse());
+        this.acquireTimeoutMillis = TimeUnit.SECONDS.toMillis(config.getDriverPoolAcquireTimeout());
+        this.windowSize = new Dimension(config.getBrowserWidth(), config.getBrowserHeight());
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "driver-pool-shutdown"));
+    }
+
+    public static DriverPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Hand out a warm session for the browser, launching one only when no
+     * idle session exists. Blocks while the pool is at its max size.
+     */
+    public WebDriver acquire(String browser) {
+        String key = browser.toLowerCase();
+        warmUp(key);
+
+        long deadline = System.currentTimeMillis() + acquireTimeoutMillis;
+        while (true) {
+            PooledSession session = null;
+            PooledSession evicted = null;
+            synchronized (this) {
+                while (true) {
+                    session = pollIdle(key);
+                    if (session != null) {
+                        break;
+                    }
+
+                    if (liveSessions < maxSize) {
+                        liveSessions++;
+                        break;
+                    }
+
+                    // Make room by evicting an idle session of another browser type
+                    evicted = pollAnyIdle();
+                    if (evicted != null) {
+                        break;
+                    }
+
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        throw new IllegalStateException("Timed out waiting for a pooled " + browser
+                            + " session (max size " + maxSize + ")");
+                    }
+                    try {
+                        wait(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted waiting for a pooled session", e);
+                    }
+                }
+            }
+
+            // Liveness checks and quits are browser round trips, so they run
+            // outside the lock on sessions already taken out of the pool
+            if (session != null) {
+                if (isAlive(session.driver)) {
+                    synchronized (this) {
+                        session.uses++;
+                        leased.put(session.driver, session);
+                    }
+                    reuses.incrementAndGet();
+                    return session.driver;
+                }
+                discard(session);
+                continue;
+            }
+            if (evicted != null) {
+                discard(evicted);
+                continue;
+            }
+            break;
+        }
+
+        // Launch outside the lock so other threads can keep acquiring
+        PooledSession session;
+        try {
+            session = new PooledSession(key, DriverFactory.createDriver(key));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                liveSessions--;
+                notifyAll();
+            }
+            throw e;
+        }
+        launches.incrementAndGet();
+        synchronized (this) {
+            session.uses = 1;
+            leased.put(session.driver, session);
+        }
+        return session.driver;
+    }
+
+    /**
+     * Return a session after a test. It is reset and kept for reuse unless it
+     * was marked for disposal, has hit its reuse cap, or cannot be reset.
+     */
+    public void release(WebDriver driver) {
+        PooledSession session;
+        synchronized (this) {
+            session = leased.remove(driver);
+        }
+        if (session == null) {
+            // Not a pooled session; nothing else will ever quit it
+            quietQuit(driver);
+            return;
+        }
+
+        boolean reusable = !session.disposeRequested && session.uses < maxReuse && reset(session.driver);
+        synchronized (this) {
+            if (reusable) {
+                idle.computeIfAbsent(session.browser, b -> new ArrayDeque<>()).push(session);
+            } else {
+                liveSessions--;
+                disposals.incrementAndGet();
+            }
+            notifyAll();
+        }
+        if (!reusable) {
+            quietQuit(session.driver);
+        }
+    }
+
+    /**
+     * Flag a leased session as too dirty to reset; it will be quit on release.
+     */
+    public synchronized void markForDisposal(WebDriver driver) {
+        PooledSession session = leased.get(driver);
+        if (session != null) {
+            session.disposeRequested = true;
+        }
+    }
+
+    /**
+     * Quit every idle session. Leased sessions are quit as they are released.
+     */
+    public void shutdown() {
+        List<PooledSession> toQuit = new ArrayList<>();
+        synchronized (this) {
+            for (Deque<PooledSession> sessions : idle.values()) {
+                toQuit.addAll(sessions);
+                sessions.clear();
+            }
+            liveSessions -= toQuit.size();
+            notifyAll();
+        }
+        for (PooledSession session : toQuit) {
+            quietQuit(session.driver);
+            disposals.incrementAndGet();
+        }
+    }
+
+    public long getLaunches() {
+        return launches.get();
+    }
+
+    /**
+     * Number of test methods that got a reused session instead of a launch.
+     */
+    public long getLaunchesSaved() {
+        return reuses.get();
+    }
+
+    public long getDisposals() {
+        return disposals.get();
+    }
+
+    public long getResetFailures() {
+        return resetFailures.get();
+    }
+
+    public String getStats() {
+        return "launches=" + launches.get()
+            + ", launchesSaved=" + reuses.get()
+            + ", disposals=" + disposals.get()
+            + ", resetFailures=" + resetFailures.get();
+    }
+
+    /**
+     * Launch driver.pool.min.size sessions the first time a browser is used.
+     */
+    private void warmUp(String browser) {
+        synchronized (this) {
+            if (warmedUp || minSize == 0) {
+                return;
+            }
+            warmedUp = true;
+        }
+        for (int i = 0; i < minSize; i++) {
+            synchronized (this) {
+                if (liveSessions >= maxSize) {
+                    return;
+                }
+                liveSessions++;
+            }
+            try {
+                PooledSession session = new PooledSession(browser, DriverFactory.createDriver(browser));
+                launches.incrementAndGet();
+                synchronized (this) {
+                    idle.computeIfAbsent(browser, b -> new ArrayDeque<>()).push(session);
+                    notifyAll();
+                }
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    liveSessions--;
+                }
+                LOG.warn("Driver pool warm-up failed", e);
+                return;
+            }
+        }
+    }
+
+    private boolean reset(WebDriver driver) {
+        try {
+            // Close every tab but the first
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i));
+                driver.close();
+            }
+            driver.switchTo().window(handles.get(0));
+
+            // Storage is scoped to the current origin, so clear it before leaving
+            ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            if (driver instanceof ChromiumDriver) {
+                ((ChromiumDriver) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            }
+            driver.manage().deleteAllCookies();
+
+            driver.get("about:blank");
+            driver.manage().window().setSize(windowSize);
+            return true;
+        } catch (RuntimeException e) {
+            resetFailures.incrementAndGet();
+            LOG.warn("Driver pool reset failed, disposing session", e);
+            return false;
+        }
+    }
+
+    private boolean isAlive(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private PooledSession pollIdle(String browser) {
+        Deque<PooledSession> sessions = idle.get(browser);
+        return sessions == null ? null : sessions.poll();
+    }
+
+    private PooledSession pollAnyIdle() {
+        for (Deque<PooledSession> sessions : idle.values()) {
+            PooledSession session = sessions.pollLast();
+            if (session != null) {
+                return session;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Quit a session already removed from the pool. Its slot is only freed
+     * once the browser is gone, so callers must not hold the monitor.
+     */
+    private void discard(PooledSession session) {
+        quietQuit(session.driver);
+        disposals.incrementAndGet();
+        synchronized (this) {
+            liveSessions--;
+            notifyAll();
+        }
+    }
+
+    private static void quietQuit(WebDriver driver) {
+        try {
+            NetworkControl.release(driver);
+            driver.quit();
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to quit WebDriver", e);
+        }
+    }
+
+    private static class PooledSession {
+        final String browser;
+        final WebDriver driver;
+        int uses;
+        boolean disposeRequested;
+
+        PooledSession(String browser, WebDriver driver) {
+            this.browser = browser;
+            this.driver = driver;
+        }
+    }
+}
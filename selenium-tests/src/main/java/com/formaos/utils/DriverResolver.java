@@ -0,0 +1,151 @@
+package com.formaos.utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.config.Config;
+import io.github.bonigarcia.wdm.online.HttpClient;
+import io.github.bonigarcia.wdm.versions.VersionDetector;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Resolves the chromedriver/geckodriver binary once per JVM.
+ *
+ * Online mode runs WebDriverManager the first time a browser type is used
+ * and memoizes the path. With driver.offline=true the network is never
+ * touched: the pinned driver.chrome.path / driver.firefox.path is used, or
+ * failing that a binary from the Selenium Manager cache
+ * (&lt;cache&gt;/chromedriver/&lt;platform&gt;/&lt;version&gt;/chromedriver). A
+ * chromedriver must match the installed Chrome's major version, so the
+ * newest cached version for that major is taken and a cache without one
+ * is an error; geckodriver is not tied to a Firefox release, so the newest
+ * cached version is used.
+ */
+public final class DriverResolver {
+
+    private static final Logger LOG = Log.get(DriverResolver.class);
+
+    private static final Map<String, File> RESOLVED = new ConcurrentHashMap<>();
+    private static final Pattern VERSION = Pattern.compile("\\d+(\\.\\d+)*");
+
+    private DriverResolver() {
+    }
+
+    /**
+     * Driver executable for "chrome" or "firefox". Concurrent callers for the
+     * same type block on a single resolution.
+     */
+    public static File resolve(String driverType) {
+        return RESOLVED.computeIfAbsent(driverType, DriverResolver::doResolve);
+    }
+
+    private static File doResolve(String driverType) {
+        ConfigReader config = new ConfigReader();
+        long start = System.nanoTime();
+        File driver;
+
+        String pinned = "chrome".equals(driverType) ? config.getChromeDriverPath() : config.getFirefoxDriverPath();
+        if (!pinned.isBlank()) {
+            driver = new File(pinned);
+        } else if (config.isDriverOffline()) {
+            String browserMajor = "chrome".equals(driverType) ? installedChromeMajor() : null;
+            driver = findInCache(Paths.get(config.getDriverCachePath()), binaryName(driverType), browserMajor);
+        } else {
+            WebDriverManager manager = "chrome".equals(driverType)
+                ? WebDriverManager.chromedriver()
+                : WebDriverManager.firefoxdriver();
+            manager.setup();
+            driver = new File(manager.getDownloadedDriverPath());
+        }
+
+        if (!driver.canExecute()) {
+            throw new IllegalStateException("Driver binary for " + driverType + " is not executable: " + driver);
+        }
+        LOG.info("Resolved {} driver in {} ms: {}", driverType, (System.nanoTime() - start) / 1_000_000, driver);
+        return driver;
+    }
+
+    /**
+     * Newest cached binary whose version directory has the given major
+     * version (any version when browserMajor is null).
+     */
+    public static File findInCache(Path cacheRoot, String binaryName, String browserMajor) {
+        if (!Files.isDirectory(cacheRoot)) {
+            throw new IllegalStateException("Offline driver mode: no pinned driver path and no Selenium cache at "
+                + cacheRoot);
+        }
+        List<Path> cached;
+        try (Stream<Path> files = Files.walk(cacheRoot)) {
+            cached = files
+                .filter(p -> p.getFileName().toString().equals(binaryName) && Files.isExecutable(p))
+                .filter(p -> p.getParent() != null && VERSION.matcher(versionOf(p)).matches())
+                .sorted(Comparator.comparing(DriverResolver::versionOf, DriverResolver::compareVersions).reversed())
+                .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new IllegalStateException("Offline driver mode: cannot read " + cacheRoot, e);
+        }
+        if (cached.isEmpty()) {
+            throw new IllegalStateException("Offline driver mode: no " + binaryName + " found under " + cacheRoot);
+        }
+        if (browserMajor == null) {
+            return cached.get(0).toFile();
+        }
+        return cached.stream()
+            .filter(p -> versionOf(p).split("\\.")[0].equals(browserMajor))
+            .findFirst()
+            .map(Path::toFile)
+            .orElseThrow(() -> new IllegalStateException("Offline driver mode: installed browser is version "
+                + browserMajor + " but the cache under " + cacheRoot + " only has " + binaryName + " "
+                + cached.stream().map(DriverResolver::versionOf).collect(Collectors.joining(", "))
+                + "; run once online or set driver.chrome.path"));
+    }
+
+    /**
+     * Major version of the locally installed Chrome, read from the shell
+     * without any network access, or null if it cannot be detected.
+     */
+    private static String installedChromeMajor() {
+        Config wdmConfig = new Config();
+        Optional<String> version = new VersionDetector(wdmConfig, new HttpClient(wdmConfig))
+            .getBrowserVersionFromTheShell("chrome");
+        if (version.isEmpty()) {
+            LOG.warn("Offline driver mode: installed Chrome version unknown; using the newest cached driver");
+            return null;
+        }
+        return VersionDetector.getMajorVersion(version.get());
+    }
+
+    private static String versionOf(Path binary) {
+        return binary.getParent().getFileName().toString();
+    }
+
+    private static int compareVersions(String a, String b) {
+        String[] left = a.split("\\.");
+        String[] right = b.split("\\.");
+        for (int i = 0; i < Math.max(left.length, right.length); i++) {
+            long l = i < left.length ? Long.parseLong(left[i]) : 0;
+            long r = i < right.length ? Long.parseLong(right[i]) : 0;
+            if (l != r) {
+                return Long.compare(l, r);
+            }
+        }
+        return 0;
+    }
+
+    private static String binaryName(String driverType) {
+        String name = "chrome".equals(driverType) ? "chromedriver" : "geckodriver";
+        return System.getProperty("os.name").toLowerCase().contains("win") ? name + ".exe" : name;
+    }
+}
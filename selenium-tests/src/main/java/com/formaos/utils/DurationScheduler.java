@@ -0,0 +1,182 @@
+package com.formaos.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Orders each &lt;test&gt; block's methods longest-first using durations from
+ * previous runs. TestNG's worker pool hands the next queued method to
+ * whichever thread frees up first, so longest-first submission is the LPT
+ * bin-packing heuristic: the long tests start early and the short ones fill
+ * the gaps, and all workers finish at about the same time.
+ *
+ * A method's duration covers its @BeforeMethod/@AfterMethod work (driver
+ * acquisition, reset) as well as the method itself. Blocks that use
+ * priorities or dependencies keep their declared order. After each block
+ * the predicted and actual makespan are printed; history is saved at the
+ * end of the suite.
+ */
+public class DurationScheduler implements IMethodInterceptor, IInvokedMethodListener, ITestListener, ISuiteListener {
+
+    private static final Logger LOG = Log.get(DurationScheduler.class);
+
+    private final ConfigReader config = new ConfigReader();
+    private final TestDurationHistory history = TestDurationHistory.fromConfig(config);
+    private final Map<String, Prediction> predictions = new ConcurrentHashMap<>();
+    private final Map<Thread, Slot> slots = new ConcurrentHashMap<>();
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!config.isScheduleEnabled() || methods.size() < 2) {
+            return methods;
+        }
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        boolean pinned = methods.stream().map(IMethodInstance::getMethod).anyMatch(DurationScheduler::isOrdered);
+        if (!pinned) {
+            ordered.sort(Comparator.comparingLong(
+                (IMethodInstance m) -> history.estimate(m.getMethod().getQualifiedName())).reversed());
+        }
+
+        XmlSuite.ParallelMode mode = context.getCurrentXmlTest().getParallel();
+        int workers = mode == null || mode == XmlSuite.ParallelMode.NONE || mode == XmlSuite.ParallelMode.TESTS
+            ? 1 : Math.max(1, context.getCurrentXmlTest().getThreadCount());
+        Map<String, Long> units = new LinkedHashMap<>();
+        int unknown = 0;
+        for (IMethodInstance instance : ordered) {
+            ITestNGMethod method = instance.getMethod();
+            String unit = mode == XmlSuite.ParallelMode.CLASSES || mode == XmlSuite.ParallelMode.INSTANCES
+                ? method.getRealClass().getName() : method.getQualifiedName();
+            units.merge(unit, history.estimate(method.getQualifiedName()), Long::sum);
+            if (!history.isKnown(method.getQualifiedName())) {
+                unknown++;
+            }
+        }
+        List<Long> durations = new ArrayList<>(units.values());
+        if (!pinned) {
+            durations.sort(Comparator.reverseOrder());
+        }
+        long predicted = predictMakespan(durations, workers);
+        predictions.put(context.getName(), new Prediction(predicted, workers));
+
+        LOG.info("Schedule '{}': {} methods {} on {} worker(s), {} without history, predicted makespan {}s",
+            context.getName(), ordered.size(), pinned ? "in declared order" : "longest-first", workers, unknown,
+            predicted / 1000.0);
+        return ordered;
+    }
+
+    /**
+     * Makespan of greedily assigning durations, in the given order, to
+     * whichever worker is free first.
+     */
+    public static long predictMakespan(List<Long> durations, int workers) {
+        PriorityQueue<Long> loads = new PriorityQueue<>();
+        for (int i = 0; i < workers; i++) {
+            loads.add(0L);
+        }
+        long makespan = 0;
+        for (long duration : durations) {
+            long finish = loads.poll() + duration;
+            makespan = Math.max(makespan, finish);
+            loads.add(finish);
+        }
+        return makespan;
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        ITestNGMethod m = method.getTestMethod();
+        Thread thread = Thread.currentThread();
+        Slot slot = slots.get(thread);
+        if (method.isConfigurationMethod() && m.isBeforeMethodConfiguration()) {
+            if (slot == null || slot.method != null) {
+                finish(slot);
+                slots.put(thread, new Slot());
+            }
+        } else if (method.isTestMethod()) {
+            if (slot == null || slot.method != null) {
+                finish(slot);
+                slot = new Slot();
+                slots.put(thread, slot);
+            }
+            slot.method = m.getQualifiedName();
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        Slot slot = slots.get(Thread.currentThread());
+        if (slot != null && slot.method != null
+            && (method.isTestMethod() || method.getTestMethod().isAfterMethodConfiguration())) {
+            slot.end = System.currentTimeMillis();
+        }
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        slots.values().forEach(this::finish);
+        slots.clear();
+        Prediction prediction = predictions.remove(context.getName());
+        if (prediction != null && context.getStartDate() != null && context.getEndDate() != null) {
+            long actual = context.getEndDate().getTime() - context.getStartDate().getTime();
+            LOG.info("Schedule '{}': predicted {}s, actual {}s on {} worker(s)",
+                context.getName(), prediction.makespan / 1000.0, actual / 1000.0, prediction.workers);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        try {
+            history.save();
+        } catch (IOException e) {
+            LOG.warn("Failed to save test duration history", e);
+        }
+    }
+
+    private void finish(Slot slot) {
+        if (slot != null && slot.method != null && slot.end > 0) {
+            history.record(slot.method, slot.end - slot.start);
+            slot.method = null;
+        }
+    }
+
+    private static boolean isOrdered(ITestNGMethod method) {
+        return method.getPriority() != 0
+            || method.getMethodsDependedUpon().length > 0
+            || method.getGroupsDependedUpon().length > 0;
+    }
+
+    private static class Slot {
+        final long start = System.currentTimeMillis();
+        volatile String method;
+        volatile long end;
+    }
+
+    private static class Prediction {
+        final long makespan;
+        final int workers;
+
+        Prediction(long makespan, int workers) {
+            this.makespan = makespan;
+            this.workers = workers;
+        }
+    }
+}
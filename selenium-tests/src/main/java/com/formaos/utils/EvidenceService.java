@@ -0,0 +1,204 @@
+package com.formaos.utils;
+
+import org.apache.logging.log4j.Logger;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes screenshots and page sources off the test thread.
+ *
+ * Tests hand over bytes already in memory and get the destination path back
+ * immediately; a background writer drains a bounded queue. When the queue
+ * is full a submit waits up to evidence.queue.offer.timeout ms and then
+ * drops the item and counts it, so a slow disk can never stall a test for
+ * longer than that. Page sources are gzip-compressed; screencasts are
+ * encoded to GIF here rather than on the test thread.
+ */
+public class EvidenceService {
+
+    private static final Logger LOG = Log.get(EvidenceService.class);
+
+    private static final EvidenceService INSTANCE = new EvidenceService(new ConfigReader());
+
+    private final BlockingQueue<Runnable> queue;
+    private final long offerTimeoutMillis;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Object drained = new Object();
+    private long pending;
+
+    EvidenceService(ConfigReader config) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, config.getEvidenceQueueCapacity()));
+        this.offerTimeoutMillis = config.getEvidenceOfferTimeout();
+
+        Thread writer = new Thread(this::drain, "evidence-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(10_000), "evidence-flush"));
+    }
+
+    public static EvidenceService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Queue a PNG for writing into the current worker's evidence directory.
+     *
+     * @return the path the file will be written to, or null if it was dropped
+     */
+    public String submitScreenshot(String name, byte[] png) {
+        Path target = DriverManager.getEvidenceDir().resolve(uniqueName(name, ".png"));
+        return submit(target, () -> write(target, png)) ? target.toString() : null;
+    }
+
+    /**
+     * Queue a page source for writing as gzip-compressed HTML.
+     *
+     * @return the path the file will be written to, or null if it was dropped
+     */
+    public String submitPageSource(String name, String html) {
+        Path target = DriverManager.getEvidenceDir().resolve(uniqueName(name, ".html.gz"));
+        byte[] bytes = html == null ? new byte[0] : html.getBytes(StandardCharsets.UTF_8);
+        return submit(target, () -> writeGzip(target, bytes)) ? target.toString() : null;
+    }
+
+    /**
+     * Queue screencast frames for encoding to an animated GIF. The encoding
+     * happens on the writer thread too, so the test only pays for the hand-off.
+     *
+     * @return the path the file will be written to, or null if it was dropped
+     */
+    public String submitScreencast(String name, List<ScreencastBuffer.Frame> frames) {
+        Path target = DriverManager.getEvidenceDir().resolve(uniqueName(name, ".gif"));
+        return submit(target, () -> writeGif(target, frames)) ? target.toString() : null;
+    }
+
+    /**
+     * Wait until everything queued so far has been written.
+     *
+     * @return true if the queue drained within the timeout
+     */
+    public boolean flush(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (drained) {
+            while (pending > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    drained.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public String getStats() {
+        return "written=" + written.get() + ", dropped=" + dropped.get() + ", failed=" + failed.get();
+    }
+
+    /**
+     * Collision-free file name: millisecond timestamp plus a JVM-wide sequence.
+     */
+    String uniqueName(String name, String extension) {
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss_SSS").format(new Date());
+        return name + "_" + timestamp + "_" + sequence.incrementAndGet() + extension;
+    }
+
+    private boolean submit(Path target, Runnable task) {
+        synchronized (drained) {
+            pending++;
+        }
+        boolean accepted;
+        try {
+            accepted = queue.offer(task, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            dropped.incrementAndGet();
+            done();
+            LOG.warn("Evidence queue full, dropped {}", target);
+        }
+        return accepted;
+    }
+
+    private void drain() {
+        while (true) {
+            Runnable task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                task.run();
+            } finally {
+                done();
+            }
+        }
+    }
+
+    private void done() {
+        synchronized (drained) {
+            pending--;
+            if (pending == 0) {
+                drained.notifyAll();
+            }
+        }
+    }
+
+    private void write(Path target, byte[] bytes) {
+        try {
+            Files.createDirectories(target.getParent());
+            Files.write(target, bytes);
+            written.incrementAndGet();
+        } catch (IOException e) {
+            failed.incrementAndGet();
+            LOG.warn("Failed to write evidence {}", target, e);
+        }
+    }
+
+    private void writeGif(Path target, List<ScreencastBuffer.Frame> frames) {
+        byte[] gif;
+        try {
+            gif = ScreencastRecorder.encodeGif(frames);
+        } catch (IOException | RuntimeException e) {
+            failed.incrementAndGet();
+            LOG.warn("Failed to encode screencast {}", target, e);
+            return;
+        }
+        write(target, gif);
+    }
+
+    private void writeGzip(Path target, byte[] bytes) {
+        try {
+            Files.createDirectories(target.getParent());
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(target))) {
+                out.write(bytes);
+            }
+            written.incrementAndGet();
+        } catch (IOException e) {
+            failed.incrementAndGet();
+            LOG.warn("Failed to write evidence {}", target, e);
+        }
+    }
+}
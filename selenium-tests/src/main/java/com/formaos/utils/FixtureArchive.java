@@ -0,0 +1,197 @@
+package com.formaos.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Recorded HTTP exchanges, keyed on method, normalized path and normalized
+ * body, stored as gzipped JSON. Response bodies are stored once per
+ * distinct content (static chunks repeat across pages), so archives stay
+ * small.
+ *
+ * A key recorded several times replays its responses in order and then
+ * keeps repeating the last one.
+ */
+public class FixtureArchive {
+
+    private static final Gson GSON = new GsonBuilder().disableHtmlEscaping().create();
+
+    private final Set<String> ignoredParams;
+    private final Map<String, List<Response>> responses = new LinkedHashMap<>();
+    private final Map<String, byte[]> bodies = new LinkedHashMap<>();
+    private final Map<String, Integer> replayed = new HashMap<>();
+
+    public FixtureArchive(Set<String> ignoredParams) {
+        this.ignoredParams = ignoredParams;
+    }
+
+    /**
+     * Request key: "METHOD path?sorted-query #body-hash". Query parameters in
+     * the ignore list (cache busters such as Next.js's _rsc) are dropped and
+     * JSON bodies are compared with their keys sorted.
+     */
+    public String key(String method, String pathAndQuery, byte[] body) {
+        URI uri = URI.create(pathAndQuery);
+        TreeSet<String> params = new TreeSet<>();
+        if (uri.getRawQuery() != null) {
+            for (String param : uri.getRawQuery().split("&")) {
+                String name = param.split("=", 2)[0];
+                if (!param.isEmpty() && !ignoredParams.contains(name)) {
+                    params.add(param);
+                }
+            }
+        }
+        StringBuilder key = new StringBuilder(method.toUpperCase()).append(' ').append(uri.getRawPath());
+        if (!params.isEmpty()) {
+            key.append('?').append(String.join("&", params));
+        }
+        if (body != null && body.length > 0) {
+            key.append(" #").append(sha256(normalizeBody(body)).substring(0, 16));
+        }
+        return key.toString();
+    }
+
+    public synchronized void add(String key, int status, Map<String, List<String>> headers, byte[] body) {
+        String hash = sha256(body);
+        bodies.putIfAbsent(hash, body);
+        responses.computeIfAbsent(key, k -> new ArrayList<>()).add(new Response(status, headers, hash));
+    }
+
+    /**
+     * Next recorded response for the key, or null if it was never recorded.
+     */
+    public synchronized Response next(String key) {
+        List<Response> recorded = responses.get(key);
+        if (recorded == null) {
+            return null;
+        }
+        int index = replayed.merge(key, 1, Integer::sum) - 1;
+        return recorded.get(Math.min(index, recorded.size() - 1));
+    }
+
+    public synchronized byte[] body(Response response) {
+        return bodies.get(response.bodyHash);
+    }
+
+    public synchronized int size() {
+        return responses.values().stream().mapToInt(List::size).sum();
+    }
+
+    public synchronized void save(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        JsonObject root = new JsonObject();
+        root.addProperty("version", 1);
+        root.add("responses", GSON.toJsonTree(responses));
+        Map<String, String> encoded = new TreeMap<>();
+        bodies.forEach((hash, bytes) -> encoded.put(hash, Base64.getEncoder().encodeToString(bytes)));
+        root.add("bodies", GSON.toJsonTree(encoded));
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer out = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(temp)),
+            StandardCharsets.UTF_8)) {
+            GSON.toJson(root, out);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public static FixtureArchive load(Path file, Set<String> ignoredParams) throws IOException {
+        FixtureArchive archive = new FixtureArchive(ignoredParams);
+        try (Reader in = new InputStreamReader(new GZIPInputStream(Files.newInputStream(file)),
+            StandardCharsets.UTF_8)) {
+            JsonObject root = JsonParser.parseReader(in).getAsJsonObject();
+            for (Map.Entry<String, JsonElement> entry : root.getAsJsonObject("responses").entrySet()) {
+                List<Response> list = new ArrayList<>();
+                entry.getValue().getAsJsonArray().forEach(r -> list.add(GSON.fromJson(r, Response.class)));
+                archive.responses.put(entry.getKey(), list);
+            }
+            for (Map.Entry<String, JsonElement> entry : root.getAsJsonObject("bodies").entrySet()) {
+                archive.bodies.put(entry.getKey(), Base64.getDecoder().decode(entry.getValue().getAsString()));
+            }
+        }
+        return archive;
+    }
+
+    private static byte[] normalizeBody(byte[] body) {
+        String text = new String(body, StandardCharsets.UTF_8).trim();
+        try {
+            JsonElement json = JsonParser.parseString(text);
+            return GSON.toJson(sortKeys(json)).getBytes(StandardCharsets.UTF_8);
+        } catch (JsonSyntaxException e) {
+            return text.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static JsonElement sortKeys(JsonElement json) {
+        if (json.isJsonObject()) {
+            JsonObject sorted = new JsonObject();
+            new TreeMap<>(json.getAsJsonObject().asMap()).forEach((k, v) -> sorted.add(k, sortKeys(v)));
+            return sorted;
+        }
+        if (json.isJsonArray()) {
+            json.getAsJsonArray().asList().replaceAll(FixtureArchive::sortKeys);
+        }
+        return json;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * One recorded response; the body is stored separately by hash.
+     */
+    public static class Response {
+        final int status;
+        final Map<String, List<String>> headers;
+        final String bodyHash;
+
+        Response(int status, Map<String, List<String>> headers, String bodyHash) {
+            this.status = status;
+            this.headers = headers;
+            this.bodyHash = bodyHash;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public Map<String, List<String>> getHeaders() {
+            return headers;
+        }
+    }
+}
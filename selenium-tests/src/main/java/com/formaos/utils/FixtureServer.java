@@ -0,0 +1,255 @@
+package com.formaos.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP server that stands in for the app.
+ *
+ * RECORD: a reverse proxy in front of the real app. Every exchange is
+ * forwarded upstream and stored in a {@link FixtureArchive}, saved on close.
+ * Absolute redirects to the upstream are rewritten to stay on the proxy.
+ *
+ * REPLAY: answers from the archive with no upstream at all. A request
+ * that was never recorded gets a 404 and is listed in {@link #getUnmatched()}.
+ *
+ * Suites opt in with fixture.mode; BaseTest points baseUrl at the server
+ * via {@link #route(String)}.
+ */
+public class FixtureServer implements AutoCloseable {
+
+    private static final Logger LOG = Log.get(FixtureServer.class);
+
+    public enum Mode { OFF, RECORD, REPLAY }
+
+    private static final Set<String> SKIPPED_REQUEST_HEADERS = Set.of(
+        "host", "connection", "content-length", "expect", "upgrade", "accept-encoding", "keep-alive",
+        "transfer-encoding", "te", "trailer", "proxy-connection", "http2-settings");
+    private static final Set<String> SKIPPED_RESPONSE_HEADERS = Set.of(
+        "connection", "content-length", "transfer-encoding", "keep-alive", "date", "content-encoding");
+
+    private static FixtureServer suiteServer;
+
+    private final Mode mode;
+    private final FixtureArchive archive;
+    private final Path archivePath;
+    private final URI upstream;
+    private final HttpServer server;
+    private final ExecutorService threads = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "fixture-server");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final HttpClient client = HttpClient.newBuilder()
+        .followRedirects(HttpClient.Redirect.NEVER)
+        .connectTimeout(Duration.ofSeconds(15))
+        .build();
+    private final List<String> unmatched = Collections.synchronizedList(new ArrayList<>());
+
+    private FixtureServer(Mode mode, FixtureArchive archive, Path archivePath, String upstream, int port)
+        throws IOException {
+        this.mode = mode;
+        this.archive = archive;
+        this.archivePath = archivePath;
+        this.upstream = upstream == null ? null : URI.create(upstream.replaceAll("/+$", ""));
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(threads);
+        server.start();
+    }
+
+    /**
+     * Proxy to the upstream app, recording into a new archive at archivePath.
+     */
+    public static FixtureServer record(String upstream, Path archivePath, int port, Set<String> ignoredParams)
+        throws IOException {
+        return new FixtureServer(Mode.RECORD, new FixtureArchive(ignoredParams), archivePath, upstream, port);
+    }
+
+    /**
+     * Serve the archive at archivePath.
+     */
+    public static FixtureServer replay(Path archivePath, int port, Set<String> ignoredParams) throws IOException {
+        return new FixtureServer(Mode.REPLAY, FixtureArchive.load(archivePath, ignoredParams), archivePath, null, port);
+    }
+
+    /**
+     * Base URL for the suite: the configured app URL, or the fixture server
+     * in front of / instead of it when fixture.mode is record or replay.
+     * The server is started once and shared by every class.
+     */
+    public static synchronized String route(String baseUrl) {
+        ConfigReader config = new ConfigReader();
+        Mode mode = Mode.valueOf(config.getFixtureMode().toUpperCase());
+        if (mode == Mode.OFF) {
+            return baseUrl;
+        }
+        if (suiteServer == null) {
+            Path archive = Paths.get(config.getFixtureArchive());
+            Set<String> ignored = new HashSet<>(ConfigReader.splitList(config.getFixtureIgnoredParams()));
+            try {
+                suiteServer = mode == Mode.RECORD
+                    ? record(baseUrl, archive, config.getFixturePort(), ignored)
+                    : replay(archive, config.getFixturePort(), ignored);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not start fixture server (" + mode + ", " + archive + ")", e);
+            }
+            LOG.info("Fixture server {} at {} ({})", mode, suiteServer.getUrl(), archive);
+        }
+        return suiteServer.getUrl();
+    }
+
+    /**
+     * Stop the suite's server, saving a recording and reporting unmatched
+     * replay requests. No-op when fixture.mode is off.
+     */
+    public static synchronized void shutdown() {
+        if (suiteServer != null) {
+            suiteServer.close();
+            suiteServer = null;
+        }
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Replay requests that had no recording, as archive keys.
+     */
+    public List<String> getUnmatched() {
+        synchronized (unmatched) {
+            return new ArrayList<>(unmatched);
+        }
+    }
+
+    public int getExchangeCount() {
+        return archive.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        threads.shutdownNow();
+        if (mode == Mode.RECORD) {
+            try {
+                archive.save(archivePath);
+                LOG.info("Fixture archive: {} exchanges saved to {}", archive.size(), archivePath);
+            } catch (IOException e) {
+                LOG.warn("Failed to save fixture archive {}", archivePath, e);
+            }
+        } else {
+            List<String> missed = getUnmatched();
+            LOG.info("Fixture replay: {} unmatched request(s)", missed.size());
+            missed.forEach(key -> LOG.info("  UNMATCHED {}", key));
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+            String method = exchange.getRequestMethod();
+            String pathAndQuery = exchange.getRequestURI().toString();
+            String key = archive.key(method, pathAndQuery, body);
+
+            if (mode == Mode.RECORD) {
+                forward(exchange, method, pathAndQuery, body, key);
+            } else {
+                replay(exchange, key);
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Fixture server error", e);
+            throw e;
+        }
+    }
+
+    private void forward(HttpExchange exchange, String method, String pathAndQuery, byte[] body, String key)
+        throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(upstream + pathAndQuery))
+            .timeout(Duration.ofSeconds(60))
+            .method(method, body.length == 0
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(body));
+        exchange.getRequestHeaders().forEach((name, values) -> {
+            if (!SKIPPED_REQUEST_HEADERS.contains(name.toLowerCase())) {
+                values.forEach(value -> request.header(name, value));
+            }
+        });
+
+        HttpResponse<byte[]> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted forwarding " + key, e);
+        }
+
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        response.headers().map().forEach((name, values) -> {
+            if (!SKIPPED_RESPONSE_HEADERS.contains(name.toLowerCase()) && !name.startsWith(":")) {
+                List<String> kept = new ArrayList<>();
+                for (String value : values) {
+                    // Keep redirects on the proxy instead of leaking to the real app
+                    kept.add("location".equalsIgnoreCase(name) ? value.replace(upstream.toString(), "") : value);
+                }
+                headers.put(name, kept);
+            }
+        });
+        archive.add(key, response.statusCode(), headers, response.body());
+        send(exchange, response.statusCode(), headers, response.body());
+    }
+
+    private void replay(HttpExchange exchange, String key) throws IOException {
+        FixtureArchive.Response recorded = archive.next(key);
+        if (recorded == null) {
+            unmatched.add(key);
+            byte[] message = ("No recording for " + key).getBytes(StandardCharsets.UTF_8);
+            send(exchange, 404, Map.of("Content-Type", List.of("text/plain; charset=utf-8"),
+                "X-Fixture-Unmatched", List.of("true")), message);
+            return;
+        }
+        send(exchange, recorded.getStatus(), recorded.getHeaders(), archive.body(recorded));
+    }
+
+    private static void send(HttpExchange exchange, int status, Map<String, List<String>> headers, byte[] body)
+        throws IOException {
+        headers.forEach((name, values) -> exchange.getResponseHeaders().put(name, new ArrayList<>(values)));
+        boolean noBody = status == 204 || status == 304 || "HEAD".equals(exchange.getRequestMethod());
+        exchange.sendResponseHeaders(status, noBody ? -1 : body.length == 0 ? -1 : body.length);
+        if (!noBody && body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
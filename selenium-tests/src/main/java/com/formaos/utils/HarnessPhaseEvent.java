@@ -0,0 +1,28 @@
+package com.formaos.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JDK Flight Recorder event for one harness phase. Free when no recording
+ * is running; with -XX:StartFlightRecording the phases show up next to GC,
+ * I/O and thread activity in JDK Mission Control.
+ */
+@Name("com.formaos.HarnessPhase")
+@Label("Harness Phase")
+@Category({"FormaOS", "Test Harness"})
+@Description("One timed phase of a test: driver acquisition, navigation, wait, screenshot, teardown")
+class HarnessPhaseEvent extends Event {
+
+    @Label("Test")
+    String test;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Detail")
+    String detail;
+}
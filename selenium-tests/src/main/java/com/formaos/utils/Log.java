@@ -0,0 +1,116 @@
+package com.formaos.utils;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.core.config.builder.api.AppenderComponentBuilder;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilder;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilderFactory;
+import org.apache.logging.log4j.core.config.builder.api.RootLoggerComponentBuilder;
+import org.apache.logging.log4j.core.config.builder.impl.BuiltConfiguration;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * Harness logging through Log4j 2, configured from config.properties on
+ * first use.
+ *
+ * Callers only enqueue: every event goes to a bounded async appender and a
+ * single background thread formats and writes it, so parallel tests never
+ * contend on System.out. The log.path file gets one JSON object per line;
+ * log.console adds human-readable ("text") or JSON ("json") console
+ * output, or none ("off"). Each event carries the logging thread as its
+ * worker, and the test, browser and session from {@link #beginTest}.
+ */
+public final class Log {
+
+    private static final String JSON_PATTERN = "{\"time\":\"%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX}\",\"level\":\"%p\","
+        + "\"logger\":\"%c{1}\",\"worker\":\"%enc{%t}{JSON}\",\"test\":\"%enc{%X{test}}{JSON}\","
+        + "\"browser\":\"%enc{%X{browser}}{JSON}\",\"session\":\"%enc{%X{session}}{JSON}\","
+        + "\"message\":\"%enc{%m}{JSON}\","
+        + "\"error\":\"%enc{%ex}{JSON}\"}%n";
+    private static final String TEXT_PATTERN = "%d{HH:mm:ss.SSS} %-5p [%t]%notEmpty{ %X{test}} %c{1} - %m%n";
+
+    static {
+        configure(new ConfigReader());
+    }
+
+    private Log() {
+    }
+
+    public static Logger get(Class<?> type) {
+        return LogManager.getLogger(type);
+    }
+
+    /**
+     * Tag everything this thread logs until {@link #endTest()} with the test
+     * and, for browser tests, the browser and WebDriver session id.
+     */
+    public static void beginTest(String test, String browser, WebDriver driver) {
+        ThreadContext.put("test", test);
+        if (browser != null) {
+            ThreadContext.put("browser", browser);
+        }
+        String session = sessionOf(driver);
+        if (session != null) {
+            ThreadContext.put("session", session);
+        }
+    }
+
+    public static void endTest() {
+        ThreadContext.clearMap();
+    }
+
+    private static String sessionOf(WebDriver driver) {
+        while (driver instanceof WrapsDriver) {
+            driver = ((WrapsDriver) driver).getWrappedDriver();
+        }
+        return driver instanceof RemoteWebDriver && ((RemoteWebDriver) driver).getSessionId() != null
+            ? ((RemoteWebDriver) driver).getSessionId().toString() : null;
+    }
+
+    private static void configure(ConfigReader config) {
+        ConfigurationBuilder<BuiltConfiguration> builder = ConfigurationBuilderFactory.newConfigurationBuilder();
+        builder.setConfigurationName("formaos-harness");
+        builder.setStatusLevel(Level.WARN);
+
+        String file = Paths.get(config.getLogPath(), "harness-"
+            + new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date()) + ".jsonl").toString();
+        builder.add(builder.newAppender("file", "File")
+            .addAttribute("fileName", file)
+            .addAttribute("bufferedIo", true)
+            .addAttribute("immediateFlush", false)
+            .add(builder.newLayout("PatternLayout")
+                .addAttribute("pattern", JSON_PATTERN)
+                .addAttribute("charset", "UTF-8")));
+
+        AppenderComponentBuilder async = builder.newAppender("async", "Async")
+            .addAttribute("bufferSize", config.getLogBufferSize())
+            .addComponent(builder.newAppenderRef("file"));
+        String console = config.getLogConsole();
+        if (!console.equals("off")) {
+            builder.add(builder.newAppender("console", "Console")
+                .addAttribute("target", "SYSTEM_OUT")
+                .add(builder.newLayout("PatternLayout")
+                    .addAttribute("pattern", console.equals("json") ? JSON_PATTERN : TEXT_PATTERN)
+                    .addAttribute("charset", "UTF-8")));
+            async.addComponent(builder.newAppenderRef("console"));
+        }
+        builder.add(async);
+
+        RootLoggerComponentBuilder root = builder.newRootLogger(Level.toLevel(config.getLogLevel(), Level.INFO));
+        builder.add(root.add(builder.newAppenderRef("async")));
+        BuiltConfiguration configuration = builder.build();
+        // initialize avoids starting (and warning about) a default configuration first
+        if (Configurator.initialize(configuration).getConfiguration() != configuration) {
+            Configurator.reconfigure(configuration);
+        }
+    }
+}
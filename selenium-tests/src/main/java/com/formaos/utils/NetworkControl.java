@@ -0,0 +1,209 @@
+package com.formaos.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.SessionId;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * DevTools network layer for Chrome sessions: requests matching the
+ * blocklist are answered locally with an empty 204 and never leave the
+ * browser; requests matching a stub are answered from a classpath fixture.
+ * Everything else proceeds untouched.
+ *
+ * One instance per driver, reconfigured before each test so pooled
+ * sessions pick up the current suite's lists. Counters are per test.
+ * Whoever quits the driver calls {@link #release(WebDriver)} so the
+ * interceptor is closed and the instance dropped.
+ */
+public class NetworkControl {
+
+    private static final Logger LOG = Log.get(NetworkControl.class);
+
+    // Keyed by session id: each instance holds its driver, so a driver key would never be released
+    private static final Map<SessionId, NetworkControl> CONTROLS = new HashMap<>();
+
+    private final WebDriver driver;
+    private NetworkInterceptor interceptor;
+    private volatile List<Pattern> blocklist = List.of();
+    private volatile Map<Pattern, Stub> stubs = Map.of();
+
+    private final AtomicLong blockedRequests = new AtomicLong();
+    private final AtomicLong blockedBytes = new AtomicLong();
+    private final AtomicLong stubbedRequests = new AtomicLong();
+    private final AtomicLong stubbedBytes = new AtomicLong();
+
+    private NetworkControl(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Apply the block and stub lists to this driver. Non-Chrome drivers are
+     * left alone. An empty configuration removes interception entirely.
+     *
+     * @param blockGlobs URL globs ("*" matches anything) to block
+     * @param stubGlobs  URL glob to classpath fixture path
+     */
+    public static NetworkControl configure(WebDriver driver, List<String> blockGlobs, Map<String, String> stubGlobs) {
+        if (!(driver instanceof ChromiumDriver)) {
+            return null;
+        }
+        NetworkControl control;
+        synchronized (CONTROLS) {
+            SessionId session = ((ChromiumDriver) driver).getSessionId();
+            control = CONTROLS.computeIfAbsent(session, id -> new NetworkControl(driver));
+        }
+        control.apply(blockGlobs, stubGlobs);
+        return control;
+    }
+
+    /**
+     * Close the driver's interceptor and forget it; call before quit().
+     */
+    public static void release(WebDriver driver) {
+        if (!(driver instanceof ChromiumDriver)) {
+            return;
+        }
+        NetworkControl control;
+        synchronized (CONTROLS) {
+            control = CONTROLS.remove(((ChromiumDriver) driver).getSessionId());
+        }
+        if (control != null) {
+            control.close();
+        }
+    }
+
+    /**
+     * Counters since the last call, then reset them.
+     */
+    public Map<String, Long> drainCounters() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("blockedRequests", blockedRequests.getAndSet(0));
+        counters.put("blockedBytes", blockedBytes.getAndSet(0));
+        counters.put("stubbedRequests", stubbedRequests.getAndSet(0));
+        counters.put("stubbedBytes", stubbedBytes.getAndSet(0));
+        return counters;
+    }
+
+    private synchronized void apply(List<String> blockGlobs, Map<String, String> stubGlobs) {
+        List<Pattern> block = new ArrayList<>();
+        for (String glob : blockGlobs) {
+            block.add(globToPattern(glob));
+        }
+        Map<Pattern, Stub> stub = new LinkedHashMap<>();
+        stubGlobs.forEach((glob, fixture) -> stub.put(globToPattern(glob), Stub.load(fixture)));
+        this.blocklist = block;
+        this.stubs = stub;
+
+        if (block.isEmpty() && stub.isEmpty()) {
+            if (interceptor != null) {
+                interceptor.close();
+                interceptor = null;
+            }
+        } else if (interceptor == null) {
+            try {
+                interceptor = new NetworkInterceptor(driver, (HttpHandler) this::handle);
+            } catch (WebDriverException e) {
+                LOG.warn("DevTools network interception unavailable", e);
+            }
+        }
+    }
+
+    private synchronized void close() {
+        if (interceptor != null) {
+            try {
+                interceptor.close();
+            } catch (RuntimeException e) {
+                LOG.warn("Failed to close DevTools network interceptor", e);
+            }
+            interceptor = null;
+        }
+    }
+
+    private HttpResponse handle(HttpRequest request) {
+        String url = request.getUri();
+        for (Map.Entry<Pattern, Stub> entry : stubs.entrySet()) {
+            if (entry.getKey().matcher(url).matches()) {
+                Stub stub = entry.getValue();
+                stubbedRequests.incrementAndGet();
+                stubbedBytes.addAndGet(stub.body.length);
+                return new HttpResponse()
+                    .setStatus(stub.status)
+                    .setHeader("Content-Type", stub.contentType)
+                    .setContent(Contents.bytes(stub.body));
+            }
+        }
+        for (Pattern pattern : blocklist) {
+            if (pattern.matcher(url).matches()) {
+                blockedRequests.incrementAndGet();
+                // Beacons carry their payload in the body: that is what was saved
+                blockedBytes.addAndGet(Contents.bytes(request.getContent()).length);
+                return new HttpResponse().setStatus(204);
+            }
+        }
+        return NetworkInterceptor.PROCEED_WITH_REQUEST;
+    }
+
+    static Pattern globToPattern(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (String part : glob.trim().split("\\*", -1)) {
+            if (regex.length() > 0) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(part));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static class Stub {
+        final int status;
+        final String contentType;
+        final byte[] body;
+
+        Stub(int status, String contentType, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        static Stub load(String fixture) {
+            try (InputStream in = NetworkControl.class.getClassLoader().getResourceAsStream(fixture)) {
+                if (in == null) {
+                    throw new IllegalArgumentException("Network stub fixture not found on classpath: " + fixture);
+                }
+                return new Stub(200, contentTypeOf(fixture), in.readAllBytes());
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Failed to read network stub fixture " + fixture, e);
+            }
+        }
+
+        static String contentTypeOf(String fixture) {
+            if (fixture.endsWith(".json")) {
+                return "application/json";
+            }
+            if (fixture.endsWith(".js")) {
+                return "application/javascript";
+            }
+            if (fixture.endsWith(".html")) {
+                return "text/html; charset=utf-8";
+            }
+            return "text/plain; charset=utf-8";
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.formaos.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.List;
+
+/**
+ * Event-driven replacement for a fixed sleep after navigation.
+ *
+ * A page is ready when document.readyState is "complete", no client-side
+ * route change is still rendering, no fetch/XHR request has been in flight
+ * for a quiet window, and the URL has stopped changing for the same window
+ * (so client side redirects have landed). Polls at polling.interval and
+ * gives up after explicit.wait.
+ *
+ * The App Router has no router events, so route changes are detected by
+ * wrapping history.pushState/replaceState and listening for popstate. A
+ * change counts as in progress until two animation frames later, when
+ * React has committed the new route (or after a second at most, for
+ * windows that do not paint).
+ *
+ * The fetch/XHR and history hooks are registered with CDP on Chromium so
+ * they see requests made during page load; other browsers get them
+ * injected on the first poll.
+ */
+public class PageReadiness {
+
+    private static final Logger LOG = Log.get(PageReadiness.class);
+
+    private static final String INSTRUMENTATION =
+        "(function () {" +
+        "  if (window.__formaosReady) { return; }" +
+        "  var s = window.__formaosReady = { inflight: 0, routeChanging: false, routeSeq: 0, lastActivity: Date.now() };" +
+        "  function start() { s.inflight++; s.lastActivity = Date.now(); }" +
+        "  function end() { s.inflight = Math.max(0, s.inflight - 1); s.lastActivity = Date.now(); }" +
+        "  if (window.fetch) {" +
+        "    var origFetch = window.fetch;" +
+        "    window.fetch = function () {" +
+        "      start();" +
+        "      try { var p = origFetch.apply(this, arguments); } catch (e) { end(); throw e; }" +
+        "      p.then(end, end);" +
+        "      return p;" +
+        "    };" +
+        "  }" +
+        "  var origSend = XMLHttpRequest.prototype.send;" +
+        "  XMLHttpRequest.prototype.send = function () {" +
+        "    start();" +
+        "    this.addEventListener('loadend', end, { once: true });" +
+        "    return origSend.apply(this, arguments);" +
+        "  };" +
+        "  function routeChange() {" +
+        "    var id = ++s.routeSeq;" +
+        "    s.routeChanging = true;" +
+        "    s.lastActivity = Date.now();" +
+        "    function done() { if (id === s.routeSeq) { s.routeChanging = false; s.lastActivity = Date.now(); } }" +
+        "    if (window.requestAnimationFrame) {" +
+        "      requestAnimationFrame(function () { requestAnimationFrame(done); });" +
+        "    }" +
+        "    setTimeout(done, 1000);" +
+        "  }" +
+        "  ['pushState', 'replaceState'].forEach(function (name) {" +
+        "    var orig = history[name];" +
+        "    history[name] = function () {" +
+        "      var result = orig.apply(this, arguments);" +
+        "      routeChange();" +
+        "      return result;" +
+        "    };" +
+        "  });" +
+        "  window.addEventListener('popstate', routeChange);" +
+        "})();";
+
+    private static final String PROBE =
+        INSTRUMENTATION +
+        "var s = window.__formaosReady;" +
+        "return [document.readyState, s.inflight, s.routeChanging, window.location.href," +
+        "        Date.now() - s.lastActivity];";
+
+    private final WebDriver driver;
+    private final long timeoutMillis;
+    private final long pollingMillis;
+    private final long quietMillis;
+    private long lastWaitMillis;
+    private String lastReadyUrl;
+
+    public PageReadiness(WebDriver driver, ConfigReader config) {
+        this.driver = driver;
+        this.timeoutMillis = config.getExplicitWait() * 1000L;
+        this.pollingMillis = Math.max(50, config.getPollingInterval());
+        this.quietMillis = config.getNetworkIdleQuietPeriod();
+        DevToolsScripts.addOnNewDocument(driver, "readiness", INSTRUMENTATION);
+    }
+
+    /**
+     * Block until the current page is ready and return how long that took.
+     *
+     * @throws TimeoutException if the document never finishes loading or the
+     *         URL keeps changing past explicit.wait. A page that is loaded and
+     *         settled but never goes network-idle (long polling, beacons) is
+     *         logged and treated as ready.
+     */
+    public long waitForPageReady() {
+        long start = System.currentTimeMillis();
+        long deadline = start + timeoutMillis;
+        String lastUrl = null;
+        long urlStableSince = start;
+        String pending = "document.readyState";
+
+        while (true) {
+            long now = System.currentTimeMillis();
+            Object[] state = probe();
+            if (state != null) {
+                String readyState = String.valueOf(state[0]);
+                long inflight = ((Number) state[1]).longValue();
+                boolean routeChanging = Boolean.TRUE.equals(state[2]);
+                String url = String.valueOf(state[3]);
+                long idleFor = ((Number) state[4]).longValue();
+
+                if (!url.equals(lastUrl)) {
+                    lastUrl = url;
+                    urlStableSince = now;
+                }
+                boolean urlSettled = now - urlStableSince >= quietMillis;
+                boolean networkIdle = inflight == 0 && idleFor >= quietMillis;
+
+                if (!"complete".equals(readyState)) {
+                    pending = "document.readyState=" + readyState;
+                } else if (routeChanging) {
+                    pending = "client-side route change";
+                } else if (!urlSettled) {
+                    pending = "URL settling at " + url;
+                } else if (!networkIdle) {
+                    pending = "network idle (" + inflight + " in flight)";
+                } else {
+                    return finish(start, "ready", url);
+                }
+            }
+
+            if (now >= deadline) {
+                if (pending.startsWith("network idle")) {
+                    return finish(start, "ready without network idle", lastUrl);
+                }
+                lastWaitMillis = System.currentTimeMillis() - start;
+                throw new TimeoutException("Page not ready after " + lastWaitMillis
+                    + " ms, still waiting for " + pending);
+            }
+            sleep(Math.min(pollingMillis, Math.max(1, deadline - now)));
+        }
+    }
+
+    /**
+     * Duration of the most recent wait in milliseconds.
+     */
+    public long getLastWaitMillis() {
+        return lastWaitMillis;
+    }
+
+    /**
+     * URL the most recent successful wait settled on, after any client-side
+     * redirects; null before the first one.
+     */
+    public String getLastReadyUrl() {
+        return lastReadyUrl;
+    }
+
+    private Object[] probe() {
+        try {
+            Object result = ((JavascriptExecutor) driver).executeScript(PROBE);
+            if (result instanceof List) {
+                return ((List<?>) result).toArray();
+            }
+        } catch (WebDriverException e) {
+            // The document is being replaced mid-navigation; try again next poll
+        }
+        return null;
+    }
+
+    private long finish(long start, String outcome, String url) {
+        lastWaitMillis = System.currentTimeMillis() - start;
+        lastReadyUrl = url;
+        LOG.info("Page {} in {} ms: {}", outcome, lastWaitMillis, url);
+        return lastWaitMillis;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for page readiness", e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.formaos.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Applies parallel.mode and thread.count from config.properties to the suite
+ * before it runs, so the worker count scales with the machine instead of
+ * being fixed in testng.xml.
+ *
+ * With matrix.browsers set the suite is instead expanded into one copy of
+ * each test per browser, run side by side (see {@link BrowserMatrix}).
+ */
+public class ParallelSuiteConfigurer implements IAlterSuiteListener {
+
+    private static final Logger LOG = Log.get(ParallelSuiteConfigurer.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        ConfigReader config = new ConfigReader();
+        XmlSuite.ParallelMode mode = XmlSuite.ParallelMode.getValidParallel(config.getParallelMode());
+        int threads = Math.max(1, config.getThreadCount());
+        List<String> browsers = ConfigReader.splitList(config.getMatrixBrowsers());
+
+        for (XmlSuite suite : suites) {
+            if (!browsers.isEmpty()) {
+                BrowserMatrix.expand(suite, browsers, Math.max(1, config.getMatrixMaxConcurrency()));
+                continue;
+            }
+            suite.setParallel(mode);
+            suite.setThreadCount(threads);
+            LOG.info("Suite '{}': parallel={}, threads={}", suite.getName(), mode, threads);
+        }
+    }
+}
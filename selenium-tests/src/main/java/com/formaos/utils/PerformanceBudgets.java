@@ -0,0 +1,55 @@
+package com.formaos.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-route frontend performance budgets from config.properties.
+ *
+ *   perf.budget.default.lcp=4000          applies to every route
+ *   perf.budget.route./auth/signin.lcp=2500  overrides for one path
+ *
+ * Metric names match the keys of a {@link WebVitals} snapshot (ttfb, fcp,
+ * lcp, cls, load, totalBlockingMs, longTaskMs, ...). Times are ms.
+ */
+public class PerformanceBudgets {
+
+    private static final String DEFAULT_PREFIX = "perf.budget.default.";
+    private static final String ROUTE_PREFIX = "perf.budget.route.";
+
+    private final Map<String, Double> defaults = new HashMap<>();
+    private final Map<String, Map<String, Double>> routes = new HashMap<>();
+
+    public PerformanceBudgets(ConfigReader config) {
+        config.getPropertiesWithPrefix(DEFAULT_PREFIX)
+            .forEach((metric, value) -> defaults.put(metric, Double.parseDouble(value)));
+        config.getPropertiesWithPrefix(ROUTE_PREFIX).forEach((key, value) -> {
+            int dot = key.lastIndexOf('.');
+            if (dot > 0) {
+                routes.computeIfAbsent(key.substring(0, dot), r -> new HashMap<>())
+                    .put(key.substring(dot + 1), Double.parseDouble(value));
+            }
+        });
+    }
+
+    /**
+     * Every budget the snapshot exceeds, as readable messages. Metrics the
+     * browser did not report are not checked.
+     */
+    public List<String> check(String route, Map<String, Object> snapshot) {
+        Map<String, Double> budgets = new HashMap<>(defaults);
+        budgets.putAll(routes.getOrDefault(route, Map.of()));
+
+        List<String> breaches = new ArrayList<>();
+        budgets.forEach((metric, limit) -> {
+            Object actual = snapshot.get(metric);
+            if (actual instanceof Number && ((Number) actual).doubleValue() > limit) {
+                breaches.add(String.format("%s %s %.3f > budget %.3f",
+                    route, metric, ((Number) actual).doubleValue(), limit));
+            }
+        });
+        return breaches;
+    }
+}
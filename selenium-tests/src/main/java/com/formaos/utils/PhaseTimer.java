@@ -0,0 +1,251 @@
+package com.formaos.utils;
+
+import com.google.gson.Gson;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestResult;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times each phase of every test (driver acquisition, setup, navigation,
+ * waits, screenshot, teardown) on the thread running it.
+ *
+ * Every finished phase is appended to report.path/timeline-&lt;run&gt;.jsonl
+ * and, when timing.jfr=true, committed as a {@link HarnessPhaseEvent}. Time
+ * inside the test method not covered by a named phase is recorded as
+ * "assertions/other". {@link #summary(int)} ranks the slowest tests and
+ * phases for the end-of-suite report.
+ */
+public final class PhaseTimer {
+
+    private static final Logger LOG = Log.get(PhaseTimer.class);
+
+    private static final ConfigReader CONFIG = new ConfigReader();
+    private static final boolean ENABLED = CONFIG.isTimingEnabled();
+    private static final boolean JFR = CONFIG.isTimingJfrEnabled();
+    private static final String RUN_ID = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+    private static final Gson GSON = new Gson();
+
+    private static final ThreadLocal<TestTimeline> CURRENT = new ThreadLocal<>();
+    private static final ConcurrentLinkedQueue<TestTimeline> COMPLETED = new ConcurrentLinkedQueue<>();
+    private static final Map<String, PhaseStats> PHASES = new ConcurrentHashMap<>();
+    private static BufferedWriter timeline;
+
+    private PhaseTimer() {
+    }
+
+    /**
+     * Start collecting phases for a test on this thread.
+     */
+    public static void beginTest(String testName) {
+        if (ENABLED) {
+            CURRENT.set(new TestTimeline(testName));
+        }
+    }
+
+    /**
+     * Open a phase; close it (try-with-resources) when the phase ends.
+     */
+    public static Phase start(String phase, String detail) {
+        return new Phase(CURRENT.get(), phase, detail);
+    }
+
+    public static <T> T time(String phase, String detail, Supplier<T> body) {
+        try (Phase ignored = start(phase, detail)) {
+            return body.get();
+        }
+    }
+
+    public static void time(String phase, String detail, Runnable body) {
+        try (Phase ignored = start(phase, detail)) {
+            body.run();
+        }
+    }
+
+    /**
+     * Close out the current test: derive the uncovered test-body time, total
+     * it up and flush its timeline lines.
+     */
+    public static void endTest(ITestResult result) {
+        TestTimeline test = CURRENT.get();
+        CURRENT.remove();
+        if (test == null) {
+            return;
+        }
+
+        long bodyStart = result.getStartMillis();
+        long bodyEnd = result.getEndMillis();
+        if (bodyEnd > bodyStart) {
+            long covered = 0;
+            for (Map<String, Object> event : test.events) {
+                long start = (Long) event.get("startMs");
+                if (start >= bodyStart && start < bodyEnd) {
+                    covered += (Long) event.get("durationMs");
+                }
+            }
+            record(test, "assertions/other", null, bodyStart, Math.max(0, bodyEnd - bodyStart - covered));
+        }
+
+        test.totalMillis = System.currentTimeMillis() - test.startMillis;
+        test.status = result.isSuccess() ? "PASSED" : result.getStatus() == ITestResult.SKIP ? "SKIPPED" : "FAILED";
+        COMPLETED.add(test);
+        writeTimeline(test);
+    }
+
+    /**
+     * Slowest tests and phases so far, as a printable block.
+     */
+    public static String summary(int topN) {
+        StringBuilder out = new StringBuilder();
+        List<TestTimeline> tests = new ArrayList<>(COMPLETED);
+        tests.sort(Comparator.comparingLong((TestTimeline t) -> t.totalMillis).reversed());
+        out.append("Slowest tests:").append(System.lineSeparator());
+        for (TestTimeline test : tests.subList(0, Math.min(topN, tests.size()))) {
+            out.append(String.format("  %7d ms  %-7s %s%n", test.totalMillis, test.status, test.name));
+            test.slowestPhases(3).forEach(event -> out.append(String.format("              %6d ms  %s%s%n",
+                (Long) event.get("durationMs"), event.get("phase"),
+                event.get("detail") == null ? "" : " " + event.get("detail"))));
+        }
+
+        List<PhaseStats> phases = new ArrayList<>(PHASES.values());
+        phases.sort(Comparator.comparingLong((PhaseStats p) -> p.total).reversed());
+        out.append("Phases by total time:").append(System.lineSeparator());
+        out.append(String.format("  %-20s %6s %10s %8s %8s%n", "phase", "count", "total ms", "avg ms", "max ms"));
+        for (PhaseStats phase : phases) {
+            synchronized (phase) {
+                out.append(String.format("  %-20s %6d %10d %8d %8d%n",
+                    phase.name, phase.count, phase.total, phase.total / Math.max(1, phase.count), phase.max));
+            }
+        }
+        return out.toString();
+    }
+
+    private static void record(TestTimeline test, String phase, String detail, long startMillis,
+                               long durationMillis) {
+        PhaseStats stats = PHASES.computeIfAbsent(phase, PhaseStats::new);
+        synchronized (stats) {
+            stats.count++;
+            stats.total += durationMillis;
+            stats.max = Math.max(stats.max, durationMillis);
+        }
+        if (test != null) {
+            test.add(phase, detail, startMillis, durationMillis);
+        }
+    }
+
+    private static synchronized void writeTimeline(TestTimeline test) {
+        try {
+            if (timeline == null) {
+                Path dir = Paths.get(CONFIG.getReportPath());
+                Files.createDirectories(dir);
+                timeline = Files.newBufferedWriter(dir.resolve("timeline-" + RUN_ID + ".jsonl"),
+                    StandardCharsets.UTF_8);
+            }
+            for (Map<String, Object> event : test.events) {
+                timeline.write(GSON.toJson(event));
+                timeline.newLine();
+            }
+            timeline.flush();
+        } catch (IOException e) {
+            LOG.warn("Failed to write timeline", e);
+        }
+    }
+
+    /**
+     * A running phase. Closing it records the duration.
+     */
+    public static final class Phase implements AutoCloseable {
+        private final TestTimeline test;
+        private final String phase;
+        private final String detail;
+        private final HarnessPhaseEvent event;
+        private final long startMillis;
+        private final long startNanos;
+
+        private Phase(TestTimeline test, String phase, String detail) {
+            this.test = test;
+            this.phase = phase;
+            this.detail = detail;
+            if (JFR) {
+                event = new HarnessPhaseEvent();
+                event.begin();
+            } else {
+                event = null;
+            }
+            startMillis = System.currentTimeMillis();
+            startNanos = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            if (!ENABLED) {
+                return;
+            }
+            long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            record(test, phase, detail, startMillis, duration);
+            if (event != null && event.shouldCommit()) {
+                event.test = test == null ? null : test.name;
+                event.phase = phase;
+                event.detail = detail;
+                event.commit();
+            }
+        }
+    }
+
+    private static final class TestTimeline {
+        final String name;
+        final String thread = Thread.currentThread().getName();
+        final long startMillis = System.currentTimeMillis();
+        final List<Map<String, Object>> events = new ArrayList<>();
+        long totalMillis;
+        String status;
+
+        TestTimeline(String name) {
+            this.name = name;
+        }
+
+        void add(String phase, String detail, long startMillis, long durationMillis) {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("test", name);
+            event.put("thread", thread);
+            event.put("phase", phase);
+            event.put("detail", detail);
+            event.put("startMs", startMillis);
+            event.put("durationMs", durationMillis);
+            events.add(event);
+        }
+
+        List<Map<String, Object>> slowestPhases(int n) {
+            List<Map<String, Object>> sorted = new ArrayList<>(events);
+            sorted.sort(Comparator.comparingLong((Map<String, Object> e) -> (Long) e.get("durationMs")).reversed());
+            return sorted.subList(0, Math.min(n, sorted.size()));
+        }
+    }
+
+    private static final class PhaseStats {
+        final String name;
+        long count;
+        long total;
+        long max;
+
+        PhaseStats(String name) {
+            this.name = name;
+        }
+    }
+}
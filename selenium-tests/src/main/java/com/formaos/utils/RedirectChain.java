@@ -0,0 +1,158 @@
+package com.formaos.utils;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every hop of an HTTP request that was followed through redirects by
+ * {@link RedirectTracer}, plus the final response body and cookie jar.
+ */
+public class RedirectChain {
+
+    private final List<Hop> hops;
+    private final String body;
+    private final Map<String, String> cookies;
+    private final boolean complete;
+
+    RedirectChain(List<Hop> hops, String body, Map<String, String> cookies, boolean complete) {
+        this.hops = Collections.unmodifiableList(hops);
+        this.body = body;
+        this.cookies = Collections.unmodifiableMap(cookies);
+        this.complete = complete;
+    }
+
+    public List<Hop> getHops() {
+        return hops;
+    }
+
+    public Hop getFinalHop() {
+        return hops.get(hops.size() - 1);
+    }
+
+    public int getFinalStatus() {
+        return getFinalHop().getStatus();
+    }
+
+    public String getFinalUrl() {
+        return getFinalHop().getUrl();
+    }
+
+    /**
+     * Path of the final URL, without query string.
+     */
+    public String getFinalPath() {
+        return URI.create(getFinalUrl()).getPath();
+    }
+
+    /**
+     * Body of the final (non-redirect) response.
+     */
+    public String getBody() {
+        return body;
+    }
+
+    /**
+     * Cookies held at the end of the chain, after every hop's Set-Cookie.
+     */
+    public Map<String, String> getCookies() {
+        return cookies;
+    }
+
+    /**
+     * False when the chain was cut off at http.max.redirects (likely a loop).
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public int getRedirectCount() {
+        return hops.size() - 1;
+    }
+
+    /**
+     * Whether any hop's URL path starts with the given prefix.
+     */
+    public boolean visited(String pathPrefix) {
+        return hops.stream().anyMatch(hop -> URI.create(hop.getUrl()).getPath().startsWith(pathPrefix));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        for (Hop hop : hops) {
+            out.append(hop).append(System.lineSeparator());
+        }
+        if (!complete) {
+            out.append("(stopped: too many redirects)").append(System.lineSeparator());
+        }
+        return out.toString();
+    }
+
+    /**
+     * One request/response in the chain.
+     */
+    public static class Hop {
+        private final String method;
+        private final String url;
+        private final int status;
+        private final String location;
+        private final List<String> setCookies;
+        private final long millis;
+
+        Hop(String method, String url, int status, String location, List<String> setCookies, long millis) {
+            this.method = method;
+            this.url = url;
+            this.status = status;
+            this.location = location;
+            this.setCookies = List.copyOf(setCookies);
+            this.millis = millis;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        /**
+         * Location header as sent (may be relative), or null.
+         */
+        public String getLocation() {
+            return location;
+        }
+
+        /**
+         * Raw Set-Cookie headers of this response.
+         */
+        public List<String> getSetCookies() {
+            return setCookies;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder()
+                .append(status).append(' ').append(method).append(' ').append(url)
+                .append(" (").append(millis).append(" ms)");
+            if (location != null) {
+                out.append(" -> ").append(location);
+            }
+            // Names only: values are often session tokens
+            for (String cookie : setCookies) {
+                out.append(System.lineSeparator()).append("    set-cookie: ").append(cookie.split("=", 2)[0].trim());
+            }
+            return out.toString();
+        }
+    }
+}
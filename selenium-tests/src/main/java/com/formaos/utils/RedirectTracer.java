@@ -0,0 +1,132 @@
+package com.formaos.utils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Browserless navigation: requests a URL the way a browser's address bar
+ * would and follows redirects by hand, recording each hop's status,
+ * Location and Set-Cookie headers. Cookies set along the way are sent on
+ * later hops, as a browser would, so middleware loop guards behave the
+ * same. Only server-side redirects are visible; client-side router pushes
+ * need the browser tier.
+ */
+public class RedirectTracer {
+
+    private static final HttpClient HTTP = HttpClient.newBuilder()
+        .followRedirects(HttpClient.Redirect.NEVER)
+        .connectTimeout(Duration.ofSeconds(15))
+        .build();
+
+    private final int maxRedirects;
+    private final Duration timeout;
+
+    public RedirectTracer(ConfigReader config) {
+        this(config.getHttpMaxRedirects(), Duration.ofSeconds(config.getPageLoadTimeout()));
+    }
+
+    public RedirectTracer(int maxRedirects, Duration timeout) {
+        this.maxRedirects = maxRedirects;
+        this.timeout = timeout;
+    }
+
+    /**
+     * GET the URL and follow every redirect.
+     *
+     * @param cookies initial cookies (e.g. an {@link AuthSession}'s), may be empty
+     */
+    public RedirectChain trace(String url, Map<String, String> cookies) {
+        Map<String, String> jar = new LinkedHashMap<>(cookies);
+        List<RedirectChain.Hop> hops = new ArrayList<>();
+        URI current = URI.create(url);
+        String method = "GET";
+
+        while (true) {
+            HttpRequest.Builder request = HttpRequest.newBuilder(current)
+                .timeout(timeout)
+                .header("Accept", "text/html,application/xhtml+xml,*/*;q=0.8")
+                .header("User-Agent", "FormaOS-Selenium-HttpTier/1.0")
+                .method(method, HttpRequest.BodyPublishers.noBody());
+            if (!jar.isEmpty()) {
+                request.header("Cookie", cookieHeader(jar));
+            }
+
+            long start = System.nanoTime();
+            HttpResponse<String> response = send(request.build());
+            long millis = (System.nanoTime() - start) / 1_000_000;
+
+            List<String> setCookies = response.headers().allValues("set-cookie");
+            setCookies.forEach(header -> store(jar, header));
+            String location = response.headers().firstValue("location").orElse(null);
+            int status = response.statusCode();
+            hops.add(new RedirectChain.Hop(method, current.toString(), status, location, setCookies, millis));
+
+            if (status < 300 || status >= 400 || location == null) {
+                return new RedirectChain(hops, response.body(), jar, true);
+            }
+            if (hops.size() > maxRedirects) {
+                return new RedirectChain(hops, response.body(), jar, false);
+            }
+            current = current.resolve(location);
+            // 307/308 keep the method; the others turn into a GET
+            if (status != 307 && status != 308) {
+                method = "GET";
+            }
+        }
+    }
+
+    private static HttpResponse<String> send(HttpRequest request) {
+        try {
+            return HTTP.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new IllegalStateException("HTTP request to " + request.uri() + " failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted requesting " + request.uri(), e);
+        }
+    }
+
+    /**
+     * Apply one Set-Cookie header: store name=value, or drop the cookie when
+     * it is expired with Max-Age=0 or an empty value.
+     */
+    private static void store(Map<String, String> jar, String header) {
+        String[] parts = header.split(";");
+        int eq = parts[0].indexOf('=');
+        if (eq <= 0) {
+            return;
+        }
+        String name = parts[0].substring(0, eq).trim();
+        String value = parts[0].substring(eq + 1).trim();
+        boolean expired = value.isEmpty();
+        for (int i = 1; i < parts.length; i++) {
+            if (parts[i].trim().equalsIgnoreCase("max-age=0")) {
+                expired = true;
+            }
+        }
+        if (expired) {
+            jar.remove(name);
+        } else {
+            jar.put(name, value);
+        }
+    }
+
+    private static String cookieHeader(Map<String, String> jar) {
+        StringBuilder header = new StringBuilder();
+        jar.forEach((name, value) -> {
+            if (header.length() > 0) {
+                header.append("; ");
+            }
+            header.append(name).append('=').append(value);
+        });
+        return header.toString();
+    }
+}
@@ -0,0 +1,259 @@
+package com.formaos.utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonParseException;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Turns a {@link StreamingReporter} results-*.jsonl stream into JUnit XML
+ * and an ExtentReports HTML page, reading the stream line by line rather
+ * than loading it. Evidence is linked by path, never embedded, so report
+ * size does not grow with screenshots. A truncated last line (crashed run)
+ * is skipped.
+ *
+ * Usage after a crash: ReportRenderer &lt;results.jsonl&gt; [outputDir]
+ */
+public final class ReportRenderer {
+
+    private ReportRenderer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ReportRenderer <results.jsonl> [outputDir]");
+            System.exit(2);
+        }
+        Path stream = Paths.get(args[0]);
+        Path dir = args.length > 1 ? Paths.get(args[1]) : stream.toAbsolutePath().getParent();
+        Rendered rendered = render(stream, dir, new ConfigReader().getExtentReportName());
+        System.out.println("Wrote " + rendered.getJunitXml() + " and " + rendered.getHtml());
+    }
+
+    public static Rendered render(Path stream, Path dir, String htmlName) throws IOException {
+        Files.createDirectories(dir);
+        String base = stream.getFileName().toString().replaceFirst("\\.jsonl$", "");
+        Path junit = dir.resolve(base.replaceFirst("^results", "junit") + ".xml");
+        Path html = dir.resolve(htmlName);
+
+        // Pass 1: per-suite totals and evidence paths (only failures have any)
+        Map<String, long[]> suites = new LinkedHashMap<>();
+        Map<Long, List<String[]>> evidence = new HashMap<>();
+        forEachLine(stream, line -> {
+            if (isEvidence(line)) {
+                evidence.computeIfAbsent(line.get("id").getAsLong(), k -> new ArrayList<>())
+                    .add(new String[] {text(line, "kind"), text(line, "path")});
+                return;
+            }
+            long[] totals = suites.computeIfAbsent(text(line, "suite"), k -> new long[4]);
+            String status = text(line, "status");
+            totals[0]++;
+            totals[1] += status.equals("FAIL") ? 1 : 0;
+            totals[2] += status.equals("PASS") || status.equals("FAIL") ? 0 : 1;
+            totals[3] += line.get("durationMs").getAsLong();
+        });
+
+        writeJunit(stream, junit, suites, evidence);
+        writeHtml(stream, html, evidence, dir);
+        return new Rendered(junit, html);
+    }
+
+    private static void writeJunit(Path stream, Path target, Map<String, long[]> suites,
+                                   Map<Long, List<String[]>> evidence) throws IOException {
+        try (OutputStream out = Files.newOutputStream(target)) {
+            XMLStreamWriter xml = XMLOutputFactory.newInstance().createXMLStreamWriter(out, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeStartElement("testsuites");
+            for (Map.Entry<String, long[]> suite : suites.entrySet()) {
+                long[] totals = suite.getValue();
+                xml.writeStartElement("testsuite");
+                xml.writeAttribute("name", suite.getKey());
+                xml.writeAttribute("tests", String.valueOf(totals[0]));
+                xml.writeAttribute("failures", String.valueOf(totals[1]));
+                xml.writeAttribute("errors", "0");
+                xml.writeAttribute("skipped", String.valueOf(totals[2]));
+                xml.writeAttribute("time", seconds(totals[3]));
+                // One pass over the stream per suite keeps memory flat; suites are few
+                forEachLine(stream, line -> {
+                    if (!isEvidence(line) && text(line, "suite").equals(suite.getKey())) {
+                        writeTestcase(xml, line, evidence);
+                    }
+                });
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to write " + target, e);
+        }
+    }
+
+    private static void writeTestcase(XMLStreamWriter xml, JsonObject line, Map<Long, List<String[]>> evidence) {
+        try {
+            String status = text(line, "status");
+            xml.writeStartElement("testcase");
+            xml.writeAttribute("classname", text(line, "class"));
+            xml.writeAttribute("name", displayName(line));
+            xml.writeAttribute("time", seconds(line.get("durationMs").getAsLong()));
+            if (status.equals("FAIL")) {
+                xml.writeStartElement("failure");
+                xml.writeAttribute("type", text(line, "errorType"));
+                xml.writeAttribute("message", text(line, "errorMessage"));
+                xml.writeCharacters(text(line, "stackTrace"));
+                xml.writeEndElement();
+            } else if (!status.equals("PASS")) {
+                xml.writeEmptyElement("skipped");
+                xml.writeAttribute("message", status.equals("RETRIED")
+                    ? "retried: " + text(line, "retryReason") : text(line, "errorMessage"));
+            }
+            List<String[]> files = evidence.get(line.get("id").getAsLong());
+            if (files != null) {
+                // Jenkins' attachment convention; the file stays where BaseTest saved it
+                StringBuilder out = new StringBuilder();
+                files.forEach(file -> out.append("[[ATTACHMENT|").append(Paths.get(file[1]).toAbsolutePath())
+                    .append("]]").append(System.lineSeparator()));
+                xml.writeStartElement("system-out");
+                xml.writeCharacters(out.toString());
+                xml.writeEndElement();
+            }
+            xml.writeEndElement();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Failed to write testcase " + displayName(line), e);
+        }
+    }
+
+    private static void writeHtml(Path stream, Path target, Map<Long, List<String[]>> evidence, Path dir)
+            throws IOException {
+        ExtentSparkReporter spark = new ExtentSparkReporter(target.toString());
+        spark.config().setDocumentTitle("FormaOS Test Report");
+        spark.config().setReportName("FormaOS Test Report");
+        ExtentReports extent = new ExtentReports();
+        extent.attachReporter(spark);
+        extent.setSystemInfo("Results", stream.toAbsolutePath().toString());
+
+        forEachLine(stream, line -> {
+            if (isEvidence(line)) {
+                return;
+            }
+            ExtentTest test = extent.createTest(displayName(line), text(line, "description"))
+                .assignCategory(text(line, "suite"));
+            if (!text(line, "browser").isEmpty()) {
+                test.assignDevice(text(line, "browser"));
+            }
+            long start = line.get("startMs").getAsLong();
+            test.getModel().setStartTime(new Date(start));
+            test.getModel().setEndTime(new Date(start + line.get("durationMs").getAsLong()));
+            switch (text(line, "status")) {
+                case "PASS":
+                    test.pass(text(line, "attempt").isEmpty() || text(line, "attempt").equals("1")
+                        ? "Passed" : "Passed on attempt " + text(line, "attempt"));
+                    break;
+                case "FAIL":
+                    test.fail(text(line, "errorType") + ": " + text(line, "errorMessage"));
+                    break;
+                case "RETRIED":
+                    test.skip("Retried: " + text(line, "retryReason") + " (" + text(line, "errorMessage") + ")");
+                    break;
+                default:
+                    test.skip(text(line, "errorMessage").isEmpty() ? "Skipped" : text(line, "errorMessage"));
+            }
+            List<String[]> files = evidence.get(line.get("id").getAsLong());
+            if (files != null) {
+                files.forEach(file -> test.addScreenCaptureFromPath(relative(dir, file[1]), file[0]));
+            }
+        });
+        extent.flush();
+    }
+
+    private static void forEachLine(Path stream, Consumer<JsonObject> action) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(stream, StandardCharsets.UTF_8)) {
+            String raw;
+            while ((raw = reader.readLine()) != null) {
+                JsonObject line;
+                try {
+                    line = JsonParser.parseString(raw).getAsJsonObject();
+                } catch (JsonParseException | IllegalStateException e) {
+                    // A run killed mid-write leaves a partial last line
+                    continue;
+                }
+                action.accept(line);
+            }
+        }
+    }
+
+    private static boolean isEvidence(JsonObject line) {
+        return text(line, "type").equals("evidence");
+    }
+
+    private static String displayName(JsonObject line) {
+        String name = text(line, "method");
+        if (!text(line, "browser").isEmpty()) {
+            name += " [" + text(line, "browser") + "]";
+        }
+        if (text(line, "status").equals("RETRIED")) {
+            name += " (attempt " + text(line, "attempt") + ")";
+        }
+        return name;
+    }
+
+    private static String text(JsonObject line, String field) {
+        JsonElement value = line.get(field);
+        return value == null || value.isJsonNull() ? "" : value.getAsString();
+    }
+
+    private static String seconds(long millis) {
+        return String.format(Locale.ROOT, "%.3f", millis / 1000.0);
+    }
+
+    private static String relative(Path dir, String file) {
+        try {
+            return dir.toAbsolutePath().relativize(Paths.get(file).toAbsolutePath()).toString().replace('\\', '/');
+        } catch (IllegalArgumentException e) {
+            return Paths.get(file).toAbsolutePath().toString();
+        }
+    }
+
+    /**
+     * Files written by {@link #render}.
+     */
+    public static final class Rendered {
+        private final Path junitXml;
+        private final Path html;
+
+        Rendered(Path junitXml, Path html) {
+            this.junitXml = junitXml;
+            this.html = html;
+        }
+
+        public Path getJunitXml() {
+            return junitXml;
+        }
+
+        public Path getHtml() {
+            return html;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.formaos.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+import java.net.ConnectException;
+import java.net.http.HttpConnectTimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * Retries a failed test only when the failure came from the infrastructure
+ * (browser crash, session not created, connection refused, navigation
+ * timeout), up to max.retry.count times when retry.failed.tests is on.
+ * Assertion failures are real and never retried.
+ *
+ * TestNG reruns the method straight away on the same worker thread; BaseTest
+ * disposes the broken session, so the retry gets a fresh or recycled one
+ * from the pool. {@link RetryListener} installs this on every test and
+ * reports retries apart from first-attempt passes.
+ */
+public class RetryAnalyzer implements IRetryAnalyzer {
+
+    private static final Logger LOG = Log.get(RetryAnalyzer.class);
+
+    private static final Pattern INFRASTRUCTURE_MESSAGE = Pattern.compile(
+        "(?i).*(connection refused|ERR_CONNECTION_REFUSED|ERR_CONNECTION_RESET|chrome not reachable"
+            + "|session deleted|invalid session id|disconnected: |target frame detached"
+            + "|timed out receiving message from renderer|timed out waiting for page load).*",
+        Pattern.DOTALL);
+
+    private final ConfigReader config = new ConfigReader();
+    private int retries;
+
+    @Override
+    public boolean retry(ITestResult result) {
+        if (!config.isRetryEnabled() || retries >= config.getMaxRetryCount()) {
+            return false;
+        }
+        String reason = infrastructureCause(result.getThrowable());
+        if (reason == null) {
+            return false;
+        }
+        retries++;
+        result.setAttribute(RetryListener.RETRY_REASON, reason);
+        LOG.info("Retrying {} ({}/{}): {}",
+            result.getMethod().getQualifiedName(), retries, config.getMaxRetryCount(), reason);
+        return true;
+    }
+
+    /**
+     * Retries spent so far; the attempt now running is this plus one.
+     */
+    public int getRetries() {
+        return retries;
+    }
+
+    /**
+     * Short description of the infrastructure failure in the cause chain,
+     * or null when the failure is an assertion or otherwise a real one.
+     */
+    public static String infrastructureCause(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof AssertionError) {
+                return null;
+            }
+        }
+        for (Throwable t = failure; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof SessionNotCreatedException) {
+                return "session not created";
+            }
+            if (t instanceof NoSuchSessionException || t instanceof UnreachableBrowserException) {
+                return "browser session lost";
+            }
+            if (t instanceof ConnectException || t instanceof HttpConnectTimeoutException) {
+                return "connection refused";
+            }
+            String message = String.valueOf(t.getMessage());
+            // A WebDriverWait timeout is an expectation that failed, not a navigation timeout
+            if (t instanceof TimeoutException && message.startsWith("Expected condition failed")) {
+                return null;
+            }
+            if (INFRASTRUCTURE_MESSAGE.matcher(message).matches()) {
+                String lower = message.toLowerCase();
+                return lower.contains("timed out") ? "navigation timeout"
+                    : lower.contains("connection") ? "connection refused" : "browser unreachable";
+            }
+        }
+        return null;
+    }
+}
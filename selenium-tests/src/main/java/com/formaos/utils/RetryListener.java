@@ -0,0 +1,172 @@
+package com.formaos.utils;
+
+import com.google.gson.GsonBuilder;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAnnotationTransformer;
+import org.testng.IRetryAnalyzer;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.internal.annotations.DisabledRetryAnalyzer;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Puts {@link RetryAnalyzer} on every test that does not declare its own,
+ * and keeps retries visible: each result carries its attempt number, and
+ * at suite end first-attempt passes, passes on retry (flaky) and failures
+ * after retries are reported separately and written to retries-*.json
+ * under report.path (or the directory it was constructed with).
+ */
+public class RetryListener implements IAnnotationTransformer, ITestListener, ISuiteListener {
+
+    private static final Logger LOG = Log.get(RetryListener.class);
+
+    public static final String ATTEMPT = "retry.attempt";
+    public static final String RETRY_REASON = "retry.reason";
+
+    private final AtomicInteger firstAttemptPasses = new AtomicInteger();
+    private final Map<String, List<String>> retried = new ConcurrentHashMap<>();
+    private final Map<String, String> outcome = new ConcurrentHashMap<>();
+    private final Path outputDirectory;
+
+    public RetryListener() {
+        this(Paths.get(new ConfigReader().getReportPath()));
+    }
+
+    public RetryListener(Path outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        Class<? extends IRetryAnalyzer> declared = annotation.getRetryAnalyzerClass();
+        if (declared == null || declared == DisabledRetryAnalyzer.class) {
+            annotation.setRetryAnalyzer(RetryAnalyzer.class);
+        }
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        IRetryAnalyzer analyzer = result.getMethod().getRetryAnalyzer(result);
+        int attempt = analyzer instanceof RetryAnalyzer ? ((RetryAnalyzer) analyzer).getRetries() + 1 : 1;
+        result.setAttribute(ATTEMPT, attempt);
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        if (attemptOf(result) == 1) {
+            firstAttemptPasses.incrementAndGet();
+        } else {
+            outcome.put(nameOf(result), "passed on retry");
+        }
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        if (attemptOf(result) > 1) {
+            outcome.put(nameOf(result), "failed after retries");
+        }
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        if (result.wasRetried()) {
+            retried.computeIfAbsent(nameOf(result), k -> new ArrayList<>())
+                .add("attempt " + attemptOf(result) + ": " + result.getAttribute(RETRY_REASON));
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (retried.isEmpty()) {
+            return;
+        }
+        LOG.info(summary());
+        write();
+    }
+
+    /**
+     * Retries spent and how each retried test ended, as a printable block.
+     */
+    public String summary() {
+        StringBuilder out = new StringBuilder("Retries:").append(System.lineSeparator());
+        out.append(String.format("  first-attempt passes: %d, passed on retry: %d, failed after retries: %d%n",
+            firstAttemptPasses.get(), count("passed on retry"), count("failed after retries")));
+        new TreeMap<>(retried).forEach((test, attempts) -> {
+            out.append(String.format("  %s: %s%n", test, outcome.getOrDefault(test, "not finished")));
+            attempts.forEach(attempt -> out.append("      ").append(attempt).append(System.lineSeparator()));
+        });
+        return out.toString();
+    }
+
+    public int getFirstAttemptPasses() {
+        return firstAttemptPasses.get();
+    }
+
+    /**
+     * "passed on retry" or "failed after retries" for a retried qualified
+     * test method (suffixed " [browser]" in matrix mode), else null.
+     */
+    public String getOutcome(String test) {
+        return outcome.get(test);
+    }
+
+    private long count(String status) {
+        return outcome.values().stream().filter(status::equals).count();
+    }
+
+    private void write() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("firstAttemptPasses", firstAttemptPasses.get());
+        Map<String, Object> tests = new TreeMap<>();
+        retried.forEach((test, attempts) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("outcome", outcome.getOrDefault(test, "not finished"));
+            entry.put("retries", attempts);
+            tests.put(test, entry);
+        });
+        report.put("retried", tests);
+        try {
+            Files.createDirectories(outputDirectory);
+            Path file = outputDirectory.resolve("retries-" + new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date()) + ".json");
+            Files.writeString(file, new GsonBuilder().setPrettyPrinting().create().toJson(report),
+                StandardCharsets.UTF_8);
+            LOG.info("Retry report written: {}", file);
+        } catch (IOException e) {
+            LOG.warn("Failed to write retry report", e);
+        }
+    }
+
+    private static int attemptOf(ITestResult result) {
+        Object attempt = result.getAttribute(ATTEMPT);
+        return attempt instanceof Integer ? (Integer) attempt : 1;
+    }
+
+    /**
+     * Qualified method name, with the browser in matrix mode.
+     */
+    private static String nameOf(ITestResult result) {
+        String browser = result.getTestContext().getCurrentXmlTest().getParameter("browser");
+        String name = result.getMethod().getQualifiedName();
+        return browser == null || browser.isBlank() ? name : name + " [" + browser + "]";
+    }
+}
@@ -0,0 +1,91 @@
+package com.formaos.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The URL paths a changed app file can affect, following the Next.js app
+ * router's file conventions.
+ *
+ * app/auth/signin/page.tsx affects exactly /auth/signin; a route handler
+ * (route.ts) likewise its own path. Any other file in a route folder
+ * (layout, loading, error, template, co-located components) affects that
+ * path and everything below it. Route groups "(x)" and parallel slots
+ * "@x" are not part of the URL; "[id]" matches any one segment and
+ * "[...rest]" / "[[...rest]]" any remainder.
+ */
+public class RouteScope {
+
+    private final String file;
+    private final List<String> segments;
+    private final boolean subtree;
+
+    private RouteScope(String file, List<String> segments, boolean subtree) {
+        this.file = file;
+        this.segments = segments;
+        this.subtree = subtree;
+    }
+
+    /**
+     * Scope of a repository-relative file under appDir, or null when the
+     * file is not inside it.
+     */
+    public static RouteScope of(String file, String appDir) {
+        String normalized = file.replace('\\', '/');
+        String prefix = appDir.replaceAll("/+$", "") + "/";
+        if (!normalized.startsWith(prefix)) {
+            return null;
+        }
+        String[] parts = normalized.substring(prefix.length()).split("/");
+        String name = parts[parts.length - 1];
+        String base = name.contains(".") ? name.substring(0, name.indexOf('.')) : name;
+        List<String> segments = new ArrayList<>();
+        for (int i = 0; i < parts.length - 1; i++) {
+            String part = parts[i];
+            if (part.startsWith("_")) {
+                // Private folder: not routable, affects the folder it sits in
+                break;
+            }
+            if ((part.startsWith("(") && part.endsWith(")")) || part.startsWith("@")) {
+                continue;
+            }
+            segments.add(part);
+        }
+        boolean exact = base.equals("page") || base.equals("route");
+        return new RouteScope(normalized, segments, !exact);
+    }
+
+    public boolean matches(String path) {
+        List<String> target = new ArrayList<>();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                target.add(segment);
+            }
+        }
+        for (int i = 0; i < segments.size(); i++) {
+            String segment = segments.get(i);
+            if (segment.startsWith("[[...")) {
+                return true;
+            }
+            if (segment.startsWith("[...")) {
+                return target.size() > i;
+            }
+            if (i >= target.size()) {
+                return false;
+            }
+            if (!(segment.startsWith("[") && segment.endsWith("]")) && !segment.equals(target.get(i))) {
+                return false;
+            }
+        }
+        return subtree || target.size() == segments.size();
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    @Override
+    public String toString() {
+        return "/" + String.join("/", segments) + (subtree ? (segments.isEmpty() ? "**" : "/**") : "");
+    }
+}
@@ -0,0 +1,254 @@
+package com.formaos.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlTest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Suite-level warm-up: before any test runs, request every route the suite
+ * will visit until each answers quickly twice in a row, so Next.js
+ * compilation and cold starts are paid here rather than by whichever test
+ * happens to go first.
+ *
+ * Routes come from the warm-up manifest on the classpath, from
+ * navigateTo/traceRoute calls in the suite's test classes, and from hrefs
+ * in the page objects (when sources are on disk). Dynamic paths built as
+ * "/prefix/" + value are warmed with a placeholder segment. The time is
+ * reported here and as the "warmup" phase, outside every test's timings.
+ */
+public class RouteWarmer implements ISuiteListener {
+
+    private static final Logger LOG = Log.get(RouteWarmer.class);
+
+    private static final Pattern NAVIGATION = Pattern.compile(
+        "(?:navigateTo|traceRoute|getAnonymous)\\(\\s*\"(/[^\"]*)\"\\s*(\\+)?|traceRouteAs\\([^,]+,\\s*\"(/[^\"]*)\"\\s*(\\+)?");
+    private static final Pattern HREF = Pattern.compile("href=['\"](/[^'\"]*)['\"]");
+    private static final String PLACEHOLDER = "warmup";
+
+    @Override
+    public void onStart(ISuite suite) {
+        ConfigReader config = new ConfigReader();
+        if (!config.isWarmupEnabled()) {
+            return;
+        }
+        if ("replay".equalsIgnoreCase(config.getFixtureMode())) {
+            LOG.info("Warm-up skipped: fixture replay has no cold routes");
+            return;
+        }
+        // The app itself, not the fixture proxy (which starts later, per class)
+        String baseUrl = suite.getParameter("baseUrl") == null ? config.getBaseUrl() : suite.getParameter("baseUrl");
+        Set<String> routes = discover(suite, config.getWarmupManifest());
+        PhaseTimer.time("warmup", routes.size() + " routes", () -> {
+            List<Result> results = warm(baseUrl, routes, config.getWarmupConcurrency(),
+                config.getWarmupStableMillis(), config.getWarmupMaxAttempts(),
+                Duration.ofSeconds(config.getWarmupTimeout()), new RedirectTracer(config));
+            LOG.info(report(results));
+        });
+    }
+
+    /**
+     * Every route the suite's classes and page objects name, plus the manifest.
+     */
+    public static Set<String> discover(ISuite suite, String manifest) {
+        Set<String> routes = new TreeSet<>();
+        routes.add("/");
+        routes.addAll(readManifest(manifest));
+        for (XmlTest test : suite.getXmlSuite().getTests()) {
+            for (XmlClass xmlClass : test.getXmlClasses()) {
+                Path source = Paths.get("src/test/java", xmlClass.getName().replace('.', '/') + ".java");
+                routes.addAll(scan(source));
+            }
+        }
+        Path pages = Paths.get("src/main/java/com/formaos/pages");
+        if (Files.isDirectory(pages)) {
+            try (Stream<Path> files = Files.list(pages)) {
+                files.filter(f -> f.toString().endsWith(".java")).forEach(f -> routes.addAll(scan(f)));
+            } catch (IOException e) {
+                LOG.warn("Could not scan page objects for routes", e);
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * Routes named in one source file.
+     */
+    public static Set<String> routesIn(String source) {
+        Set<String> routes = new TreeSet<>();
+        Matcher navigation = NAVIGATION.matcher(source);
+        while (navigation.find()) {
+            boolean plain = navigation.group(1) != null;
+            String path = plain ? navigation.group(1) : navigation.group(3);
+            boolean dynamic = (plain ? navigation.group(2) : navigation.group(4)) != null;
+            routes.add(dynamic ? path + (path.endsWith("/") ? "" : "/") + PLACEHOLDER : path);
+        }
+        Matcher href = HREF.matcher(source);
+        while (href.find()) {
+            routes.add(href.group(1));
+        }
+        return routes;
+    }
+
+    /**
+     * Hit every route concurrently until it is stable: two consecutive
+     * responses with the same final status, each within stableMillis.
+     */
+    public static List<Result> warm(String baseUrl, Set<String> routes, int concurrency, long stableMillis,
+                                    int maxAttempts, Duration timeout, RedirectTracer tracer) {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(concurrency, routes.size())));
+        List<Callable<Result>> tasks = new ArrayList<>();
+        for (String route : routes) {
+            tasks.add(() -> warmOne(baseUrl, route, stableMillis, maxAttempts, tracer));
+        }
+        List<Result> results = new ArrayList<>();
+        try {
+            for (Future<Result> future : pool.invokeAll(tasks, timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException | CancellationException e) {
+                    // Cancelled by the overall timeout; reported as missing below
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+        for (String route : routes) {
+            if (results.stream().noneMatch(r -> r.route.equals(route))) {
+                results.add(new Result(route, 0, -1, -1, -1, false, "not finished within " + timeout.toSeconds() + "s"));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Per-route table, slowest first response first.
+     */
+    public static String report(List<Result> results) {
+        List<Result> sorted = new ArrayList<>(results);
+        sorted.sort(Comparator.comparingLong((Result r) -> r.firstMillis).reversed());
+        long stable = sorted.stream().filter(r -> r.stable).count();
+        StringBuilder out = new StringBuilder(String.format("Warm-up: %d/%d routes stable%n", stable, sorted.size()));
+        out.append(String.format("  %-45s %6s %8s %8s %8s%n", "route", "status", "tries", "first ms", "last ms"));
+        for (Result r : sorted) {
+            out.append(String.format("  %-45s %6d %8d %8d %8d%s%n", r.route, r.status, r.attempts,
+                r.firstMillis, r.lastMillis, r.stable ? "" : "  UNSTABLE" + (r.error == null ? "" : ": " + r.error)));
+        }
+        return out.toString();
+    }
+
+    private static Result warmOne(String baseUrl, String route, long stableMillis, int maxAttempts,
+                                  RedirectTracer tracer) {
+        long first = -1;
+        long last = -1;
+        int status = -1;
+        int previousStatus = -1;
+        boolean previousFast = false;
+        String error = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                RedirectChain chain = tracer.trace(baseUrl + route, Map.of());
+                last = chain.getHops().stream().mapToLong(RedirectChain.Hop::getMillis).sum();
+                status = chain.getFinalStatus();
+                error = null;
+            } catch (IllegalStateException e) {
+                error = e.getMessage();
+                status = -1;
+                last = -1;
+            }
+            if (first < 0) {
+                first = last;
+            }
+            boolean fast = status > 0 && status < 500 && last <= stableMillis;
+            if (fast && previousFast && status == previousStatus) {
+                return new Result(route, attempt, status, first, last, true, null);
+            }
+            previousFast = fast;
+            previousStatus = status;
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+        }
+        return new Result(route, maxAttempts, status, first, last, false, error);
+    }
+
+    private static List<String> readManifest(String resource) {
+        List<String> routes = new ArrayList<>();
+        InputStream in = RouteWarmer.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            return routes;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            reader.lines()
+                .map(String::trim)
+                .filter(line -> line.startsWith("/"))
+                .forEach(routes::add);
+        } catch (IOException e) {
+            LOG.warn("Could not read warm-up manifest {}", resource, e);
+        }
+        return routes;
+    }
+
+    private static Set<String> scan(Path source) {
+        if (!Files.isRegularFile(source)) {
+            return Set.of();
+        }
+        try {
+            return routesIn(Files.readString(source));
+        } catch (IOException e) {
+            return Set.of();
+        }
+    }
+
+    /**
+     * Outcome of warming one route.
+     */
+    public static class Result {
+        public final String route;
+        public final int attempts;
+        public final int status;
+        public final long firstMillis;
+        public final long lastMillis;
+        public final boolean stable;
+        public final String error;
+
+        Result(String route, int attempts, int status, long firstMillis, long lastMillis, boolean stable, String error) {
+            this.route = route;
+            this.attempts = attempts;
+            this.status = status;
+            this.firstMillis = firstMillis;
+            this.lastMillis = lastMillis;
+            this.stable = stable;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.formaos.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fixed-size ring of the most recent screencast frames. Holds at most
+ * maxFrames frames and maxBytes of image data; the oldest frames are
+ * overwritten first, so memory per session never grows past the limits
+ * however long a test runs.
+ */
+public class ScreencastBuffer {
+
+    private final Frame[] slots;
+    private final long maxBytes;
+    private final long windowMillis;
+    private int head;
+    private int size;
+    private long bytes;
+    private long dropped;
+
+    public ScreencastBuffer(int maxFrames, long maxBytes, long windowMillis) {
+        if (maxFrames < 1 || maxBytes < 1) {
+            throw new IllegalArgumentException("Screencast buffer needs room for at least one frame");
+        }
+        this.slots = new Frame[maxFrames];
+        this.maxBytes = maxBytes;
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Store a frame, evicting the oldest ones until it fits. A single frame
+     * larger than the whole byte budget is dropped.
+     */
+    public synchronized void add(Frame frame) {
+        if (frame.data.length > maxBytes) {
+            dropped++;
+            return;
+        }
+        while (size == slots.length || bytes + frame.data.length > maxBytes) {
+            evictOldest();
+        }
+        slots[(head + size) % slots.length] = frame;
+        size++;
+        bytes += frame.data.length;
+    }
+
+    /**
+     * Frames from the last windowMillis before the newest frame, oldest first.
+     */
+    public synchronized List<Frame> snapshot() {
+        List<Frame> frames = new ArrayList<>(size);
+        if (size == 0) {
+            return frames;
+        }
+        long newest = slots[(head + size - 1) % slots.length].millis;
+        for (int i = 0; i < size; i++) {
+            Frame frame = slots[(head + i) % slots.length];
+            if (newest - frame.millis <= windowMillis) {
+                frames.add(frame);
+            }
+        }
+        return frames;
+    }
+
+    /**
+     * Forget every frame; nothing is written anywhere.
+     */
+    public synchronized void clear() {
+        Arrays.fill(slots, null);
+        head = 0;
+        size = 0;
+        bytes = 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    private void evictOldest() {
+        bytes -= slots[head].data.length;
+        slots[head] = null;
+        head = (head + 1) % slots.length;
+        size--;
+    }
+
+    /**
+     * One encoded (JPEG) frame and the time it arrived.
+     */
+    public static class Frame {
+        final long millis;
+        final byte[] data;
+
+        public Frame(long millis, byte[] data) {
+            this.millis = millis;
+            this.data = data;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+    }
+}
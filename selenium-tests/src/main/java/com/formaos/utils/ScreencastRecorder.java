@@ -0,0 +1,212 @@
+package com.formaos.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.JsonInput;
+import org.w3c.dom.Node;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps the last few seconds of a Chrome session on screen in memory.
+ *
+ * The browser pushes downscaled JPEG frames over the DevTools screencast
+ * (only when the page actually repaints) into a {@link ScreencastBuffer}.
+ * A passing test just clears the buffer; a failing one hands the frames to
+ * {@link EvidenceService}, which encodes them to an animated GIF on its
+ * writer thread. One recorder per session, kept across pooled tests.
+ */
+public class ScreencastRecorder {
+
+    private static final Logger LOG = Log.get(ScreencastRecorder.class);
+
+    private static final Map<WebDriver, ScreencastRecorder> RECORDERS = new WeakHashMap<>();
+
+    private final ScreencastBuffer buffer;
+
+    private ScreencastRecorder(ScreencastBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Start the screencast on this session (once) and return its recorder,
+     * emptied for the next test. Null when disabled, for non-Chromium
+     * drivers, or when DevTools is unavailable.
+     */
+    public static ScreencastRecorder attach(WebDriver driver, ConfigReader config) {
+        if (!config.isScreencastEnabled() || !(driver instanceof ChromiumDriver)) {
+            return null;
+        }
+        ScreencastRecorder recorder;
+        synchronized (RECORDERS) {
+            recorder = RECORDERS.get(driver);
+            if (recorder == null && !RECORDERS.containsKey(driver)) {
+                recorder = start((ChromiumDriver) driver, config);
+                RECORDERS.put(driver, recorder);
+            }
+        }
+        if (recorder != null) {
+            recorder.buffer.clear();
+        }
+        return recorder;
+    }
+
+    private static ScreencastRecorder start(ChromiumDriver driver, ConfigReader config) {
+        ScreencastRecorder recorder = new ScreencastRecorder(new ScreencastBuffer(config.getScreencastMaxFrames(),
+            config.getScreencastMaxKb() * 1024L, config.getScreencastSeconds() * 1000L));
+        try {
+            DevTools devTools = driver.getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            devTools.addListener(new Event<>("Page.screencastFrame", ScreencastRecorder::readFrame), frame -> {
+                recorder.buffer.add(new ScreencastBuffer.Frame(System.currentTimeMillis(),
+                    Base64.getDecoder().decode(frame.data)));
+                // Chrome sends the next frame only after an ack; don't wait on the reply
+                devTools.send(new Command<Void>("Page.screencastFrameAck", Map.of("sessionId", frame.sessionId))
+                    .doesNotSendResponse());
+            });
+            devTools.send(new Command<Void>("Page.startScreencast", Map.of(
+                "format", "jpeg",
+                "quality", config.getScreencastQuality(),
+                "maxWidth", config.getScreencastMaxWidth(),
+                "maxHeight", config.getScreencastMaxHeight(),
+                "everyNthFrame", config.getScreencastEveryNthFrame())));
+            return recorder;
+        } catch (WebDriverException e) {
+            LOG.warn("DevTools screencast unavailable", e);
+            return null;
+        }
+    }
+
+    /**
+     * Passing test: drop the frames, no I/O.
+     */
+    public void discard() {
+        buffer.clear();
+    }
+
+    /**
+     * Failing test: queue the buffered frames as an animated GIF evidence
+     * file and empty the buffer.
+     *
+     * @return the path it will be written to, or null if there was nothing
+     *         to write or the evidence queue dropped it
+     */
+    public String saveFailure(String testName) {
+        List<ScreencastBuffer.Frame> frames = buffer.snapshot();
+        buffer.clear();
+        if (frames.isEmpty()) {
+            return null;
+        }
+        return EvidenceService.getInstance().submitScreencast(testName, frames);
+    }
+
+    public ScreencastBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Animated GIF of the frames, each shown until the next one arrived; the
+     * last is held for a second. Loops forever.
+     */
+    public static byte[] encodeGif(List<ScreencastBuffer.Frame> frames) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("gif").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            writer.prepareWriteSequence(null);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            for (int i = 0; i < frames.size(); i++) {
+                BufferedImage image = ImageIO.read(new ByteArrayInputStream(frames.get(i).data));
+                if (image == null) {
+                    continue;
+                }
+                long shownMillis = i + 1 < frames.size() ? frames.get(i + 1).millis - frames.get(i).millis : 1000;
+                IIOMetadata metadata = writer.getDefaultImageMetadata(
+                    ImageTypeSpecifier.createFromRenderedImage(image), param);
+                setFrameMetadata(metadata, shownMillis, i == 0);
+                writer.writeToSequence(new IIOImage(image, null, metadata), param);
+            }
+            writer.endWriteSequence();
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static void setFrameMetadata(IIOMetadata metadata, long shownMillis, boolean first) throws IOException {
+        String format = metadata.getNativeMetadataFormatName();
+        IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(format);
+
+        IIOMetadataNode control = child(root, "GraphicControlExtension");
+        control.setAttribute("disposalMethod", "none");
+        control.setAttribute("userInputFlag", "FALSE");
+        control.setAttribute("transparentColorFlag", "FALSE");
+        // Hundredths of a second; browsers treat anything under 2 as 10
+        control.setAttribute("delayTime", String.valueOf(Math.max(2, shownMillis / 10)));
+        control.setAttribute("transparentColorIndex", "0");
+
+        if (first) {
+            IIOMetadataNode loop = new IIOMetadataNode("ApplicationExtension");
+            loop.setAttribute("applicationID", "NETSCAPE");
+            loop.setAttribute("authenticationCode", "2.0");
+            loop.setUserObject(new byte[] {1, 0, 0});
+            child(root, "ApplicationExtensions").appendChild(loop);
+        }
+        metadata.setFromTree(format, root);
+    }
+
+    private static IIOMetadataNode child(IIOMetadataNode root, String name) {
+        for (Node node = root.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node.getNodeName().equals(name)) {
+                return (IIOMetadataNode) node;
+            }
+        }
+        IIOMetadataNode node = new IIOMetadataNode(name);
+        root.appendChild(node);
+        return node;
+    }
+
+    private static ScreencastFrame readFrame(JsonInput input) {
+        ScreencastFrame frame = new ScreencastFrame();
+        input.beginObject();
+        while (input.hasNext()) {
+            switch (input.nextName()) {
+                case "data":
+                    frame.data = input.nextString();
+                    break;
+                case "sessionId":
+                    frame.sessionId = input.read(Integer.class);
+                    break;
+                default:
+                    input.skipValue();
+            }
+        }
+        input.endObject();
+        return frame;
+    }
+
+    private static class ScreencastFrame {
+        String data;
+        Integer sessionId;
+    }
+}
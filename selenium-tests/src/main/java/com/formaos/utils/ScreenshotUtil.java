@@ -1,40 +1,29 @@
 package com.formaos.utils;
 
-import org.apache.commons.io.FileUtils;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
-
-import java.io.File;
-import java.io.IOException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import org.openqa.selenium.WebDriverException;
 
 public class ScreenshotUtil {
     
+    private static final Logger LOG = Log.get(ScreenshotUtil.class);
+    
+    /**
+     * Grab a screenshot as bytes and hand it to {@link EvidenceService} for
+     * writing in the background. Returns the path it will be written to.
+     */
     public static String captureScreenshot(WebDriver driver, String testName) {
-        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-        String fileName = testName + "_" + timestamp + ".png";
-        String screenshotPath = "test-results/screenshots/" + fileName;
-        
         try {
-            // Create directory if it doesn't exist
-            File directory = new File("test-results/screenshots/");
-            if (!directory.exists()) {
-                directory.mkdirs();
-            }
-            
-            // Capture screenshot
-            TakesScreenshot screenshot = (TakesScreenshot) driver;
-            File source = screenshot.getScreenshotAs(OutputType.FILE);
-            File destination = new File(screenshotPath);
-            FileUtils.copyFile(source, destination);
+            byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            String screenshotPath = EvidenceService.getInstance().submitScreenshot(testName, png);
             
-            System.out.println("Screenshot captured: " + screenshotPath);
+            LOG.info("Screenshot captured: {}", screenshotPath);
             return screenshotPath;
             
-        } catch (IOException e) {
-            System.err.println("Failed to capture screenshot: " + e.getMessage());
+        } catch (WebDriverException e) {
+            LOG.warn("Failed to capture screenshot", e);
             return null;
         }
     }
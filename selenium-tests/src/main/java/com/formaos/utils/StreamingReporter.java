@@ -0,0 +1,267 @@
+package com.formaos.utils;
+
+import com.google.gson.Gson;
+import org.apache.logging.log4j.Logger;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Streams every test result to results-&lt;run&gt;.jsonl under report.path
+ * (or the directory it was constructed with) as it finishes, flushed line
+ * by line so a crashed run still leaves everything up to the crash.
+ * Nothing is kept in memory per test: evidence (screenshot, screencast) is
+ * appended as a separate line that references the file BaseTest saved,
+ * never its bytes.
+ *
+ * Progress (done/total and an ETA from the average so far) is logged after
+ * each result and kept current in progress.json next to it. The total
+ * counts what each &lt;test&gt; will actually run: as a method interceptor
+ * registered after TestImpactSelector and DurationScheduler, it sees their
+ * selection (until a &lt;test&gt; starts, all its methods). At suite end
+ * {@link ReportRenderer} turns the stream into JUnit XML and the
+ * extent.report.name HTML report; after a crash it can be run on the
+ * partial stream by hand.
+ *
+ * Several reporters can run at once (a harness test starting a nested
+ * TestNG run inside the suite); each result remembers which stream it went
+ * to, so its evidence follows it there.
+ */
+public class StreamingReporter implements ITestListener, ISuiteListener, IMethodInterceptor {
+
+    private static final Logger LOG = Log.get(StreamingReporter.class);
+    private static final Gson GSON = new Gson();
+    private static final String RESULT_ID = "report.id";
+    private static final String RESULT_STREAM = "report.stream";
+    private static final int MAX_ERROR_CHARS = 4000;
+
+    private static final Map<String, StreamingReporter> RUNNING = new ConcurrentHashMap<>();
+
+    private final ConfigReader config = new ConfigReader();
+    private final Path outputDirectory;
+    private final AtomicLong ids = new AtomicLong();
+    private final AtomicInteger done = new AtomicInteger();
+    private final Map<String, Integer> planned = new ConcurrentHashMap<>();
+    private BufferedWriter stream;
+    private Path streamFile;
+    private Path progressFile;
+    private long startMillis;
+
+    public StreamingReporter() {
+        this.outputDirectory = Paths.get(config.getReportPath());
+    }
+
+    public StreamingReporter(Path outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        Path dir = outputDirectory;
+        startMillis = System.currentTimeMillis();
+        planned.clear();
+        planned.putAll(suite.getAllMethods().stream()
+            .collect(Collectors.groupingBy(m -> m.getXmlTest().getName(), Collectors.summingInt(m -> 1))));
+        try {
+            Files.createDirectories(dir);
+            streamFile = dir.resolve("results-" + new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date())
+                + ".jsonl");
+            progressFile = dir.resolve("progress.json");
+            stream = Files.newBufferedWriter(streamFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            RUNNING.put(streamKey(), this);
+            LOG.info("Streaming results to {}", streamFile);
+        } catch (IOException e) {
+            LOG.warn("Result stream unavailable", e);
+        }
+    }
+
+    /**
+     * Count the methods this &lt;test&gt; will run; the order is left alone.
+     */
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        planned.put(context.getName(), methods.size());
+        return methods;
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result, "PASS");
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result, "FAIL");
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        record(result, result.wasRetried() ? "RETRIED" : "SKIP");
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (stream == null) {
+            return;
+        }
+        synchronized (this) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                LOG.warn("Failed to close result stream", e);
+            }
+            stream = null;
+        }
+        // Only this reporter's own entry; another run may still be streaming
+        RUNNING.remove(streamKey(), this);
+        try {
+            ReportRenderer.Rendered rendered = ReportRenderer.render(streamFile, streamFile.getParent(),
+                config.getExtentReportName());
+            LOG.info("Reports written: {} and {}", rendered.getJunitXml(), rendered.getHtml());
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Failed to render reports from {}", streamFile, e);
+        }
+    }
+
+    /**
+     * Reference an evidence file saved for a result that has already been
+     * streamed, in the stream that result went to. No-op when that stream
+     * is closed or the result was never streamed.
+     */
+    public static void evidence(ITestResult result, String kind, String path) {
+        Object key = result.getAttribute(RESULT_STREAM);
+        StreamingReporter reporter = key == null ? null : RUNNING.get(key.toString());
+        Object id = result.getAttribute(RESULT_ID);
+        if (reporter == null || id == null || path == null) {
+            return;
+        }
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("type", "evidence");
+        line.put("id", id);
+        line.put("kind", kind);
+        line.put("path", path);
+        reporter.write(line);
+    }
+
+    public int getDone() {
+        return done.get();
+    }
+
+    public int getTotal() {
+        return planned.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public Path getStreamFile() {
+        return streamFile;
+    }
+
+    private void record(ITestResult result, String status) {
+        long id = ids.incrementAndGet();
+        result.setAttribute(RESULT_ID, id);
+        if (streamFile != null) {
+            result.setAttribute(RESULT_STREAM, streamKey());
+        }
+        String browser = result.getTestContext().getCurrentXmlTest().getParameter("browser");
+
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("type", "result");
+        line.put("id", id);
+        line.put("suite", result.getTestContext().getName());
+        line.put("class", result.getTestClass().getName());
+        line.put("method", result.getMethod().getMethodName());
+        line.put("description", result.getMethod().getDescription());
+        line.put("browser", browser);
+        line.put("status", status);
+        line.put("attempt", result.getAttribute(RetryListener.ATTEMPT));
+        line.put("retryReason", result.getAttribute(RetryListener.RETRY_REASON));
+        line.put("startMs", result.getStartMillis());
+        line.put("durationMs", result.getEndMillis() - result.getStartMillis());
+        if (result.getThrowable() != null) {
+            line.put("errorType", result.getThrowable().getClass().getName());
+            line.put("errorMessage", String.valueOf(result.getThrowable().getMessage()));
+            line.put("stackTrace", stackTrace(result.getThrowable()));
+        }
+        write(line);
+
+        if (!status.equals("RETRIED")) {
+            progress(done.incrementAndGet(), status, result);
+        }
+    }
+
+    private synchronized void write(Map<String, Object> line) {
+        if (stream == null) {
+            return;
+        }
+        try {
+            stream.write(GSON.toJson(line));
+            stream.newLine();
+            // Flushed per line: a crash loses at most the result being written
+            stream.flush();
+        } catch (IOException e) {
+            LOG.warn("Failed to stream result", e);
+        }
+    }
+
+    private void progress(int finished, String status, ITestResult result) {
+        long elapsed = System.currentTimeMillis() - startMillis;
+        int total = Math.max(getTotal(), finished);
+        long etaMillis = elapsed / finished * (total - finished);
+        LOG.info("[{}/{}] {} {} ({} ms), ETA {}s", finished, total, status, result.getMethod().getQualifiedName(),
+            result.getEndMillis() - result.getStartMillis(), etaMillis / 1000);
+
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("done", finished);
+        progress.put("total", total);
+        progress.put("elapsedMs", elapsed);
+        progress.put("etaMs", etaMillis);
+        progress.put("updated", System.currentTimeMillis());
+        synchronized (this) {
+            if (progressFile == null) {
+                return;
+            }
+            try {
+                Path temp = progressFile.resolveSibling("progress.json.tmp");
+                Files.writeString(temp, GSON.toJson(progress), StandardCharsets.UTF_8);
+                Files.move(temp, progressFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                LOG.warn("Failed to update progress", e);
+            }
+        }
+    }
+
+    private String streamKey() {
+        return streamFile.toAbsolutePath().toString();
+    }
+
+    private static String stackTrace(Throwable throwable) {
+        StringWriter out = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(out));
+        String trace = out.toString();
+        return trace.length() <= MAX_ERROR_CHARS ? trace : trace.substring(0, MAX_ERROR_CHARS) + "...";
+    }
+}
@@ -0,0 +1,126 @@
+package com.formaos.utils;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-method wall-clock durations from previous runs, persisted as JSON.
+ * Each method keeps an exponentially weighted average so one slow run
+ * moves the estimate without dominating it.
+ *
+ * Methods never seen before are estimated from the median of their class,
+ * then the median of all known methods, then a configured default.
+ */
+public class TestDurationHistory {
+
+    private static final Logger LOG = Log.get(TestDurationHistory.class);
+
+    private static final Type FORMAT = new TypeToken<TreeMap<String, Entry>>() { }.getType();
+
+    private final Path file;
+    private final double weight;
+    private final long defaultEstimate;
+    private final Map<String, Entry> entries;
+
+    public TestDurationHistory(Path file, double weight, long defaultEstimate) {
+        this.file = file;
+        this.weight = weight;
+        this.defaultEstimate = defaultEstimate;
+        this.entries = load(file);
+    }
+
+    public static TestDurationHistory fromConfig(ConfigReader config) {
+        return new TestDurationHistory(Path.of(config.getScheduleHistoryPath()),
+            config.getScheduleHistoryWeight(), config.getScheduleDefaultEstimate());
+    }
+
+    /**
+     * Expected duration in ms for a fully qualified method name
+     * (com.formaos.tests.Foo.bar).
+     */
+    public synchronized long estimate(String method) {
+        Entry entry = entries.get(method);
+        if (entry != null) {
+            return Math.round(entry.averageMillis);
+        }
+        int dot = method.lastIndexOf('.');
+        String classPrefix = dot > 0 ? method.substring(0, dot + 1) : method;
+        List<Double> sameClass = new ArrayList<>();
+        List<Double> all = new ArrayList<>();
+        entries.forEach((name, known) -> {
+            all.add(known.averageMillis);
+            if (name.startsWith(classPrefix) && name.indexOf('.', classPrefix.length()) < 0) {
+                sameClass.add(known.averageMillis);
+            }
+        });
+        if (!sameClass.isEmpty()) {
+            return median(sameClass);
+        }
+        return all.isEmpty() ? defaultEstimate : median(all);
+    }
+
+    public synchronized boolean isKnown(String method) {
+        return entries.containsKey(method);
+    }
+
+    public synchronized void record(String method, long millis) {
+        Entry entry = entries.get(method);
+        if (entry == null) {
+            entry = new Entry();
+            entry.averageMillis = millis;
+            entries.put(method, entry);
+        } else {
+            entry.averageMillis = weight * millis + (1 - weight) * entry.averageMillis;
+        }
+        entry.lastMillis = millis;
+        entry.runs++;
+    }
+
+    public synchronized void save() throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, new GsonBuilder().setPrettyPrinting().create().toJson(entries, FORMAT)
+            .getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static Map<String, Entry> load(Path file) {
+        if (!Files.exists(file)) {
+            return new TreeMap<>();
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Map<String, Entry> loaded = new GsonBuilder().create().fromJson(reader, FORMAT);
+            return loaded == null ? new TreeMap<>() : loaded;
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Ignoring unreadable duration history {}", file, e);
+            return new TreeMap<>();
+        }
+    }
+
+    private static long median(List<Double> values) {
+        Collections.sort(values);
+        return Math.round(values.get(values.size() / 2));
+    }
+
+    private static class Entry {
+        double averageMillis;
+        long lastMillis;
+        int runs;
+    }
+}
@@ -0,0 +1,189 @@
+package com.formaos.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Route-level test impact analysis.
+ *
+ * Always: keeps {@link TestRouteMap} up to date with the paths each test
+ * visited this run.
+ *
+ * When changed files are given (impact.changed.files, or a file listing
+ * them such as `git diff --name-only` output in impact.changed.files.from),
+ * each &lt;test&gt; runs only the methods whose recorded routes a changed app
+ * file can affect ({@link RouteScope}), plus the impact.smoke set, methods
+ * without route history, and whatever those depend on. A changed file
+ * outside the app route tree that is not in impact.ignored.files runs
+ * everything. Every kept and pruned method is printed with its reason.
+ */
+public class TestImpactSelector implements IMethodInterceptor, ITestListener, ISuiteListener {
+
+    private static final Logger LOG = Log.get(TestImpactSelector.class);
+
+    private final ConfigReader config = new ConfigReader();
+    private final TestRouteMap routeMap = new TestRouteMap(Paths.get(config.getImpactMapPath()));
+    private final List<String> changedFiles = changedFiles(config);
+    private final Set<String> ran = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (changedFiles == null) {
+            return methods;
+        }
+        List<String> names = new ArrayList<>();
+        methods.forEach(m -> names.add(m.getMethod().getQualifiedName()));
+        Map<String, String> reasons = select(names, changedFiles, routeMap,
+            ConfigReader.splitList(config.getImpactSmoke()), ConfigReader.splitList(config.getImpactAppDirs()),
+            ConfigReader.splitList(config.getImpactIgnoredFiles()));
+        includeDependencies(methods, reasons);
+
+        List<IMethodInstance> selected = new ArrayList<>();
+        StringBuilder rationale = new StringBuilder();
+        for (IMethodInstance instance : methods) {
+            String name = instance.getMethod().getQualifiedName();
+            String reason = reasons.get(name);
+            if (reason != null) {
+                selected.add(instance);
+            }
+            rationale.append(reason == null ? "  - " : "  + ").append(name).append(": ")
+                .append(reason == null ? "no recorded route is affected" : reason).append(System.lineSeparator());
+        }
+        LOG.info("Impact '{}': {} of {} methods selected for {} changed file(s){}{}", context.getName(),
+            selected.size(), methods.size(), changedFiles.size(), System.lineSeparator(),
+            rationale.toString().stripTrailing());
+        return selected;
+    }
+
+    /**
+     * Selected methods and why; methods missing from the result are pruned.
+     */
+    public static Map<String, String> select(List<String> methods, List<String> changedFiles, TestRouteMap routeMap,
+                                             List<String> smoke, List<String> appDirs, List<String> ignored) {
+        Map<String, String> reasons = new LinkedHashMap<>();
+        List<Pattern> ignoredPatterns = new ArrayList<>();
+        ignored.forEach(glob -> ignoredPatterns.add(NetworkControl.globToPattern(glob)));
+
+        List<RouteScope> scopes = new ArrayList<>();
+        for (String file : changedFiles) {
+            if (ignoredPatterns.stream().anyMatch(p -> p.matcher(file).matches())) {
+                continue;
+            }
+            RouteScope scope = appDirs.stream().map(dir -> RouteScope.of(file, dir))
+                .filter(s -> s != null).findFirst().orElse(null);
+            if (scope == null) {
+                methods.forEach(m -> reasons.put(m, "everything: " + file + " is outside the route tree"));
+                return reasons;
+            }
+            scopes.add(scope);
+        }
+
+        for (String method : methods) {
+            if (smoke.stream().anyMatch(s -> method.equals(s) || method.startsWith(s + "."))) {
+                reasons.put(method, "smoke set");
+                continue;
+            }
+            // A method that ran without recording a route (e.g. one whose
+            // requests bypass BaseTest) proves nothing about what it covers
+            Set<String> visited = routeMap.get(method);
+            if (visited == null || visited.isEmpty()) {
+                reasons.put(method, "no route history yet");
+                continue;
+            }
+            for (String path : visited) {
+                RouteScope hit = scopes.stream().filter(s -> s.matches(path)).findFirst().orElse(null);
+                if (hit != null) {
+                    reasons.put(method, "visits " + path + " (" + hit + " <- " + hit.getFile() + ")");
+                    break;
+                }
+            }
+        }
+        return reasons;
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        ran.add(result.getMethod().getQualifiedName());
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        ran.add(result.getMethod().getQualifiedName());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        routeMap.update(ran, TestRouteMap.getVisited());
+        try {
+            routeMap.save();
+        } catch (IOException e) {
+            LOG.warn("Failed to save test route map", e);
+        }
+    }
+
+    /**
+     * Keep whatever a selected method depends on, so TestNG can still run it.
+     */
+    private static void includeDependencies(Collection<IMethodInstance> methods, Map<String, String> reasons) {
+        Map<String, ITestNGMethod> byName = new LinkedHashMap<>();
+        methods.forEach(m -> byName.put(m.getMethod().getQualifiedName(), m.getMethod()));
+        List<String> pending = new ArrayList<>(reasons.keySet());
+        Set<String> seen = new HashSet<>(pending);
+        while (!pending.isEmpty()) {
+            ITestNGMethod method = byName.get(pending.remove(pending.size() - 1));
+            if (method == null) {
+                continue;
+            }
+            for (String dependency : method.getMethodsDependedUpon()) {
+                if (byName.containsKey(dependency) && seen.add(dependency)) {
+                    reasons.putIfAbsent(dependency, "needed by " + method.getQualifiedName());
+                    pending.add(dependency);
+                }
+            }
+        }
+    }
+
+    /**
+     * Changed files from config or the file it names; null when neither is
+     * set, which turns selection off.
+     */
+    private static List<String> changedFiles(ConfigReader config) {
+        String from = config.getImpactChangedFilesFrom();
+        if (!from.isBlank()) {
+            try {
+                List<String> files = new ArrayList<>();
+                for (String line : Files.readAllLines(Path.of(from))) {
+                    if (!line.isBlank()) {
+                        files.add(line.trim());
+                    }
+                }
+                return files;
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Cannot read changed files from " + from, e);
+            }
+        }
+        String listed = config.getImpactChangedFiles();
+        return listed.isBlank() ? null : ConfigReader.splitList(listed);
+    }
+}
@@ -1,49 +1,66 @@
 package com.formaos.utils;
 
+import org.apache.logging.log4j.Logger;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
-public class TestListener implements ITestListener {
+public class TestListener implements ITestListener, ISuiteListener {
+    
+    private static final Logger LOG = Log.get(TestListener.class);
     
     @Override
     public void onTestStart(ITestResult result) {
-        System.out.println("\n========================================");
-        System.out.println("TEST STARTED: " + result.getMethod().getMethodName());
-        System.out.println("========================================");
+        LOG.info("TEST STARTED: {}", result.getMethod().getMethodName());
     }
     
     @Override
     public void onTestSuccess(ITestResult result) {
-        System.out.println("\n✅ TEST PASSED: " + result.getMethod().getMethodName());
+        LOG.info("✅ TEST PASSED: {}", result.getMethod().getMethodName());
     }
     
     @Override
     public void onTestFailure(ITestResult result) {
-        System.out.println("\n❌ TEST FAILED: " + result.getMethod().getMethodName());
-        System.out.println("Failure Reason: " + result.getThrowable().getMessage());
+        LOG.error("❌ TEST FAILED: {}: {}", result.getMethod().getMethodName(),
+            result.getThrowable().getMessage(), result.getThrowable());
     }
     
     @Override
     public void onTestSkipped(ITestResult result) {
-        System.out.println("\n⏭️ TEST SKIPPED: " + result.getMethod().getMethodName());
+        if (result.wasRetried()) {
+            LOG.warn("🔁 TEST RETRIED: {}", result.getMethod().getMethodName());
+            return;
+        }
+        LOG.info("⏭️ TEST SKIPPED: {}", result.getMethod().getMethodName());
     }
     
     @Override
     public void onStart(ITestContext context) {
-        System.out.println("\n╔════════════════════════════════════════╗");
-        System.out.println("║   FORMAOS ENTERPRISE TEST SUITE        ║");
-        System.out.println("║   Suite: " + context.getName() + "                    ║");
-        System.out.println("╚════════════════════════════════════════╝\n");
+        LOG.info("FORMAOS ENTERPRISE TEST SUITE: {}", context.getName());
     }
     
     @Override
     public void onFinish(ITestContext context) {
-        System.out.println("\n╔════════════════════════════════════════╗");
-        System.out.println("║   TEST SUITE COMPLETED                 ║");
-        System.out.println("║   Passed: " + context.getPassedTests().size() + "                              ║");
-        System.out.println("║   Failed: " + context.getFailedTests().size() + "                              ║");
-        System.out.println("║   Skipped: " + context.getSkippedTests().size() + "                             ║");
-        System.out.println("╚════════════════════════════════════════╝\n");
+        long retried = context.getSkippedTests().getAllResults().stream().filter(ITestResult::wasRetried).count();
+        LOG.info("TEST SUITE COMPLETED: {}: {} passed, {} failed, {} skipped, {} retried", context.getName(),
+            context.getPassedTests().size(), context.getFailedTests().size(),
+            context.getSkippedTests().size() - retried, retried);
+    }
+    
+    /**
+     * Evidence and timing cover the whole suite, so they are reported once
+     * here rather than after every &lt;test&gt;.
+     */
+    @Override
+    public void onFinish(ISuite suite) {
+        EvidenceService evidence = EvidenceService.getInstance();
+        long flushTimeout = new ConfigReader().getEvidenceFlushTimeout();
+        if (!evidence.flush(flushTimeout)) {
+            LOG.warn("Evidence writer did not drain within {} ms", flushTimeout);
+        }
+        LOG.info("Evidence: {}", evidence.getStats());
+        LOG.info(PhaseTimer.summary(new ConfigReader().getTimingSlowestCount()));
     }
 }
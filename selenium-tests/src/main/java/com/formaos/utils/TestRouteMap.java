@@ -0,0 +1,136 @@
+package com.formaos.utils;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Which URL paths each test method visits, persisted as JSON between runs.
+ *
+ * BaseTest reports every navigation, landed URL and redirect hop through
+ * {@link #visit(String, String)}; visits are attributed to the TestNG
+ * result running on the calling thread, so requests made on other threads
+ * (HTTP client executors) must be recorded by the test thread itself. At
+ * suite end the methods that ran replace their previous entry, and methods
+ * that did not run keep theirs.
+ */
+public class TestRouteMap {
+
+    private static final Logger LOG = Log.get(TestRouteMap.class);
+
+    private static final Type FORMAT = new TypeToken<TreeMap<String, TreeSet<String>>>() { }.getType();
+    private static final Map<String, Set<String>> VISITED = new ConcurrentHashMap<>();
+
+    private final Path file;
+    private final Map<String, TreeSet<String>> routes;
+
+    public TestRouteMap(Path file) {
+        this.file = file;
+        this.routes = load(file);
+    }
+
+    /**
+     * Record that the current test visited url. URLs on other hosts than
+     * baseUrl (identity providers, CDNs) are ignored.
+     */
+    public static void visit(String baseUrl, String url) {
+        ITestResult result = Reporter.getCurrentTestResult();
+        String path = pathOf(baseUrl, url);
+        if (result == null || path == null) {
+            return;
+        }
+        VISITED.computeIfAbsent(result.getMethod().getQualifiedName(), k -> ConcurrentHashMap.newKeySet())
+            .add(path);
+    }
+
+    /**
+     * Path of url relative to baseUrl without query or fragment, or null
+     * when url points somewhere else.
+     */
+    static String pathOf(String baseUrl, String url) {
+        if (url == null) {
+            return null;
+        }
+        String path;
+        if (url.startsWith("/")) {
+            path = url;
+        } else {
+            URI target = URI.create(url);
+            URI base = URI.create(baseUrl);
+            if (target.getHost() == null || !target.getHost().equalsIgnoreCase(base.getHost())
+                || target.getPort() != base.getPort()) {
+                return null;
+            }
+            path = target.getRawPath() == null || target.getRawPath().isEmpty() ? "/" : target.getRawPath();
+        }
+        path = path.replaceAll("[?#].*$", "");
+        return path.length() > 1 ? path.replaceAll("/+$", "") : "/";
+    }
+
+    /**
+     * Routes visited during this run, per method, so far.
+     */
+    public static Map<String, Set<String>> getVisited() {
+        Map<String, Set<String>> copy = new TreeMap<>();
+        VISITED.forEach((method, paths) -> copy.put(method, new TreeSet<>(paths)));
+        return copy;
+    }
+
+    public synchronized Set<String> get(String method) {
+        return routes.get(method);
+    }
+
+    public synchronized boolean isKnown(String method) {
+        return routes.containsKey(method);
+    }
+
+    /**
+     * Replace the entries of the given methods with what they visited this
+     * run; a method that ran but visited nothing is stored as empty, which
+     * {@link TestImpactSelector} treats the same as no history.
+     */
+    public synchronized void update(Set<String> ranMethods, Map<String, Set<String>> visited) {
+        for (String method : ranMethods) {
+            routes.put(method, new TreeSet<>(visited.getOrDefault(method, Set.of())));
+        }
+    }
+
+    public synchronized void save() throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, new GsonBuilder().setPrettyPrinting().create().toJson(routes, FORMAT)
+            .getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static Map<String, TreeSet<String>> load(Path file) {
+        if (!Files.exists(file)) {
+            return new TreeMap<>();
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Map<String, TreeSet<String>> loaded = new GsonBuilder().create().fromJson(reader, FORMAT);
+            return loaded == null ? new TreeMap<>() : loaded;
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Ignoring unreadable test route map {}", file, e);
+            return new TreeMap<>();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.formaos.utils;
+
+import com.google.gson.GsonBuilder;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Collects Navigation Timing, paint timings, LCP, CLS and long-task totals
+ * for the page a test is on, and keeps every sample of the run so they can
+ * be written to a single JSON file at suite end.
+ *
+ * The PerformanceObservers are registered before page scripts via CDP on
+ * Chromium; on other browsers they are registered at collection time with
+ * buffered:true, which still sees entries recorded before that point.
+ */
+public final class WebVitals {
+
+    private static final Logger LOG = Log.get(WebVitals.class);
+
+    private static final String OBSERVERS =
+        "(function () {" +
+        "  if (window.__formaosVitals || !window.PerformanceObserver) { return; }" +
+        "  var v = window.__formaosVitals = { lcp: null, cls: 0, longTasks: 0, longTaskMs: 0, blockingMs: 0 };" +
+        "  var sessionValue = 0, sessionStart = 0, sessionLast = 0;" +
+        "  function observe(type, fn) {" +
+        "    try {" +
+        "      new PerformanceObserver(function (list) { list.getEntries().forEach(fn); })" +
+        "        .observe({ type: type, buffered: true });" +
+        "    } catch (e) {}" +
+        "  }" +
+        "  observe('largest-contentful-paint', function (e) { v.lcp = e.startTime; });" +
+        // CLS is the largest burst of shifts (gap < 1 s, window < 5 s)
+        "  observe('layout-shift', function (e) {" +
+        "    if (e.hadRecentInput) { return; }" +
+        "    if (sessionValue && (e.startTime - sessionLast > 1000 || e.startTime - sessionStart > 5000)) {" +
+        "      sessionValue = 0;" +
+        "    }" +
+        "    if (!sessionValue) { sessionStart = e.startTime; }" +
+        "    sessionValue += e.value;" +
+        "    sessionLast = e.startTime;" +
+        "    v.cls = Math.max(v.cls, sessionValue);" +
+        "  });" +
+        "  observe('longtask', function (e) {" +
+        "    v.longTasks++;" +
+        "    v.longTaskMs += e.duration;" +
+        "    v.blockingMs += Math.max(0, e.duration - 50);" +
+        "  });" +
+        "})();";
+
+    private static final String COLLECT =
+        "var done = arguments[arguments.length - 1];" +
+        OBSERVERS +
+        "setTimeout(function () {" +
+        "  var v = window.__formaosVitals || {};" +
+        "  var nav = performance.getEntriesByType('navigation')[0] || {};" +
+        "  var paint = {};" +
+        "  performance.getEntriesByType('paint').forEach(function (p) { paint[p.name] = p.startTime; });" +
+        "  done({" +
+        "    url: location.href, navigationType: nav.type || null," +
+        "    ttfb: nav.responseStart, domContentLoaded: nav.domContentLoadedEventEnd," +
+        "    load: nav.loadEventEnd, transferSize: nav.transferSize," +
+        "    fp: paint['first-paint'], fcp: paint['first-contentful-paint']," +
+        "    lcp: v.lcp, cls: v.cls, longTasks: v.longTasks, longTaskMs: v.longTaskMs," +
+        "    totalBlockingMs: v.blockingMs" +
+        "  });" +
+        "}, 50);";
+
+    private static final String RUN_ID = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+    private static final Queue<Map<String, Object>> SAMPLES = new ConcurrentLinkedQueue<>();
+
+    private WebVitals() {
+    }
+
+    /**
+     * Register the observers on a Chromium session so they see the whole
+     * page load, not just what is buffered.
+     */
+    public static void install(WebDriver driver) {
+        DevToolsScripts.addOnNewDocument(driver, "web-vitals", OBSERVERS);
+    }
+
+    /**
+     * Snapshot the current page's timings. Returns an empty map if the page
+     * cannot be measured (about:blank, script error, navigation race, or no
+     * answer within the session's script.timeout).
+     */
+    public static Map<String, Object> collect(WebDriver driver) {
+        try {
+            Object result = ((JavascriptExecutor) driver).executeAsyncScript(COLLECT);
+            if (result instanceof Map) {
+                Map<String, Object> snapshot = new LinkedHashMap<>();
+                ((Map<?, ?>) result).forEach((k, v) -> snapshot.put(String.valueOf(k), v));
+                return snapshot;
+            }
+        } catch (WebDriverException e) {
+            LOG.warn("Web vitals unavailable", e);
+        }
+        return new LinkedHashMap<>();
+    }
+
+    /**
+     * Keep a sample for the per-run file.
+     */
+    public static void record(String testName, Map<String, Object> snapshot) {
+        Map<String, Object> sample = new LinkedHashMap<>();
+        sample.put("test", testName);
+        sample.put("route", routeOf(String.valueOf(snapshot.get("url"))));
+        sample.put("timestamp", System.currentTimeMillis());
+        sample.putAll(snapshot);
+        SAMPLES.add(sample);
+    }
+
+    /**
+     * Write every sample recorded so far to web-vitals-&lt;run&gt;.json under
+     * the given directory.
+     */
+    public static Path writeRun(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve("web-vitals-" + RUN_ID + ".json");
+        List<Map<String, Object>> samples = new ArrayList<>(SAMPLES);
+        Files.write(file, new GsonBuilder().setPrettyPrinting().serializeNulls().create().toJson(samples)
+            .getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    public static int getSampleCount() {
+        return SAMPLES.size();
+    }
+
+    /**
+     * Path part of a URL, used as the budget and report key.
+     */
+    public static String routeOf(String url) {
+        try {
+            String path = URI.create(url).getPath();
+            return path == null || path.isEmpty() ? "/" : path;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    /**
+     * Format a snapshot's headline numbers for the console.
+     */
+    public static String summarize(Map<String, Object> snapshot) {
+        return String.format("ttfb=%s fcp=%s lcp=%s cls=%s longTasks=%s tbt=%s",
+            ms(snapshot.get("ttfb")), ms(snapshot.get("fcp")), ms(snapshot.get("lcp")),
+            snapshot.get("cls"), snapshot.get("longTasks"), ms(snapshot.get("totalBlockingMs")));
+    }
+
+    private static String ms(Object value) {
+        return value instanceof Number ? Math.round(((Number) value).doubleValue()) + "ms" : "n/a";
+    }
+}
@@ -1,12 +1,14 @@
 package com.formaos.tests;
 
 import com.formaos.base.BaseTest;
+import com.formaos.base.TestTier;
+import com.formaos.base.Tier;
+import com.formaos.utils.EvidenceService;
+import com.formaos.utils.RedirectChain;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 
 /**
  * UAT for /accept-invite/[token].
@@ -18,8 +20,8 @@ import java.nio.file.Paths;
  * invite being wrongly ACCEPTED scored as a pass, and so did a valid invite
  * being wrongly rejected. Only an unrecognised page could fail.
  *
- * BaseTest builds a fresh WebDriver per method and provides no sign-in
- * helper, so this driver is always anonymous. The contract that is
+ * BaseTest hands each method a reset, cookie-free WebDriver and these tests
+ * never call signInAs, so this driver is always anonymous. The contract that is
  * actually observable — and the one that matters for authorization — is
  * that an anonymous visitor holding a token must NOT be able to accept the
  * invite or read its contents; they must be bounced to sign-in with a
@@ -29,12 +31,12 @@ public class AcceptInviteUAT extends BaseTest {
 
     private void captureEvidence(String name, String pageSource) {
         try {
-            byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-            Files.createDirectories(Paths.get("test-results/screenshots"));
-            Files.write(Paths.get("test-results/screenshots/" + name + ".png"), screenshot);
-            Files.write(Paths.get("test-results/screenshots/" + name + ".html"), pageSource.getBytes());
+            byte[] screenshot = ((TakesScreenshot) getDriver()).getScreenshotAs(OutputType.BYTES);
+            EvidenceService evidence = EvidenceService.getInstance();
+            evidence.submitScreenshot(name, screenshot);
+            evidence.submitPageSource(name, pageSource);
         } catch (Exception ex) {
-            System.out.println("Evidence capture failed: " + ex.getMessage());
+            log.warn("Evidence capture failed", ex);
         }
     }
 
@@ -48,10 +50,10 @@ public class AcceptInviteUAT extends BaseTest {
         waitForPageLoad();
 
         String currentUrl = getCurrentUrl();
-        String pageSource = driver.getPageSource();
+        String pageSource = getDriver().getPageSource();
         captureEvidence("uat_invite_anonymous", pageSource);
 
-        System.out.println("Current URL: " + currentUrl);
+        log.info("Current URL: {}", currentUrl);
 
         // 1. The accept affordance must never render without a session.
         Assert.assertFalse(
@@ -75,22 +77,23 @@ public class AcceptInviteUAT extends BaseTest {
     }
 
     @Test(description = "UAT: a garbage invite token is not treated as a valid invite")
+    @TestTier(Tier.HTTP)
     public void testUnknownInviteTokenIsNotAccepted() {
-        navigateTo("/accept-invite/definitely-not-a-real-invite-token");
-        waitForPageLoad();
+        RedirectChain route = traceRoute("/accept-invite/definitely-not-a-real-invite-token");
 
-        String currentUrl = getCurrentUrl();
-        String pageSource = driver.getPageSource();
-        captureEvidence("uat_invite_unknown_token", pageSource);
+        String currentUrl = route.getFinalUrl();
+        String pageSource = route.getBody();
+        EvidenceService.getInstance().submitPageSource("uat_invite_unknown_token", pageSource);
 
         Assert.assertFalse(
             pageSource.contains("Accept Invitation"),
             "SECURITY: an unknown token rendered the accept-invite form at " + currentUrl);
         Assert.assertFalse(
-            currentUrl.contains("/onboarding"),
-            "SECURITY: an unknown token was accepted — landed on " + currentUrl);
+            route.visited("/onboarding"),
+            "SECURITY: an unknown token was accepted — redirected via /onboarding:\n" + route);
         Assert.assertTrue(
-            currentUrl.contains("/auth/signin"),
-            "Anonymous visit with an unknown token should redirect to /auth/signin but landed on " + currentUrl);
+            route.getFinalPath().startsWith("/auth/signin"),
+            "Anonymous visit with an unknown token should redirect to /auth/signin but landed on " + currentUrl
+                + "\n" + route);
     }
 }
@@ -1,33 +1,41 @@
 package com.formaos.tests;
 
 import com.formaos.base.BaseTest;
+import com.formaos.base.TestTier;
+import com.formaos.base.Tier;
+import com.formaos.utils.RedirectChain;
 import org.testng.Assert;
+import org.testng.SkipException;
 import org.testng.annotations.Test;
 
+import java.net.URI;
+
 public class AuthFlowTests extends BaseTest {
     
     @Test(priority = 1, description = "Verify signup page is accessible")
+    @TestTier(Tier.HTTP)
     public void testSignupPageAccessible() {
-        navigateTo("/auth/signup");
-        waitForPageLoad();
+        RedirectChain route = traceRoute("/auth/signup");
         
-        String currentUrl = getCurrentUrl();
-        Assert.assertTrue(currentUrl.contains("/auth/signup"), 
-            "Should be on signup page");
+        Assert.assertEquals(route.getFinalStatus(), 200, 
+            "Signup page should load:\n" + route);
+        Assert.assertTrue(route.getFinalPath().startsWith("/auth/signup"), 
+            "Should be on signup page:\n" + route);
         
-        System.out.println("✅ Signup page accessible");
+        log.info("✅ Signup page accessible");
     }
     
     @Test(priority = 2, description = "Verify login page is accessible")
+    @TestTier(Tier.HTTP)
     public void testLoginPageAccessible() {
-        navigateTo("/auth/signin");
-        waitForPageLoad();
+        RedirectChain route = traceRoute("/auth/signin");
         
-        String currentUrl = getCurrentUrl();
-        Assert.assertTrue(currentUrl.contains("/auth/signin"), 
-            "Should be on signin page");
+        Assert.assertEquals(route.getFinalStatus(), 200, 
+            "Signin page should load:\n" + route);
+        Assert.assertTrue(route.getFinalPath().startsWith("/auth/signin"), 
+            "Should be on signin page:\n" + route);
         
-        System.out.println("✅ Login page accessible");
+        log.info("✅ Login page accessible");
     }
     
     @Test(priority = 3, description = "Verify navigation between login and signup")
@@ -47,6 +55,27 @@ public class AuthFlowTests extends BaseTest {
         Assert.assertTrue(getCurrentUrl().contains("/signin"), 
             "Should be on signin page");
         
-        System.out.println("✅ Auth page navigation functional");
+        log.info("✅ Auth page navigation functional");
+    }
+    
+    @Test(priority = 4, description = "Verify an API-signed-in session opens /app in one navigation")
+    public void testApiSignInOpensApp() {
+        if (getConfig().getSupabaseUrl().isBlank() || getConfig().getSupabaseAnonKey().isBlank()) {
+            throw new SkipException("Supabase URL/anon key not configured for API sign-in");
+        }
+        signInAs("test");
+        navigateTo("/app");
+        waitForPageLoad();
+        
+        String currentUrl = getCurrentUrl();
+        String path = URI.create(currentUrl).getPath();
+        if (path.startsWith("/auth/mfa-challenge")) {
+            Assert.fail("Injected session was sent to the MFA challenge; it was not marked MFA-passed"
+                + " (is supabase.service.role.key / SUPABASE_SERVICE_ROLE_KEY set?): " + currentUrl);
+        }
+        Assert.assertTrue(path.startsWith("/app"), 
+            "Injected session should open /app; landed on " + currentUrl);
+        
+        log.info("✅ API sign-in reached {}", currentUrl);
     }
 }
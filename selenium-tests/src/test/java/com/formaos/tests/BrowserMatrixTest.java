@@ -0,0 +1,107 @@
+package com.formaos.tests;
+
+import com.formaos.utils.BrowserMatrix;
+import org.testng.Assert;
+import org.testng.ITestContext;
+import org.testng.TestNG;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Harness checks for matrix mode: each test is copied once per browser and
+ * the copies run side by side, with results kept per (test, browser).
+ */
+public class BrowserMatrixTest {
+
+    @Test(description = "Harness: tests are copied per browser; matrix=false tests are kept once")
+    public void testExpandsSuite() {
+        XmlSuite suite = suite(true);
+        BrowserMatrix.expand(suite, List.of("chrome", "firefox", "chrome-headless"), 3);
+
+        Assert.assertEquals(suite.getParallel(), XmlSuite.ParallelMode.TESTS);
+        Assert.assertEquals(suite.getThreadCount(), 3);
+        Assert.assertEquals(suite.getTests().size(), 4);
+        Assert.assertEquals(suite.getTests().get(0).getName(), "Probe [chrome]");
+        Assert.assertEquals(suite.getTests().get(1).getParameter("browser"), "firefox");
+        Assert.assertEquals(suite.getTests().get(2).getXmlClasses().get(0).getName(), Probe.class.getName());
+        Assert.assertEquals(suite.getTests().get(3).getName(), "Harness: Other");
+    }
+
+    @Test(description = "Harness: browsers run concurrently and are reported per (test, browser)")
+    public void testRunsBrowsersConcurrently() throws Exception {
+        Probe.BROWSERS.clear();
+        XmlSuite suite = suite(false);
+        List<String> browsers = List.of("chrome", "firefox", "chrome-headless");
+        BrowserMatrix.expand(suite, browsers, 3);
+
+        Path dir = Files.createTempDirectory("browser-matrix");
+        BrowserMatrix matrix = new BrowserMatrix(dir);
+        TestNG testng = new TestNG(false);
+        testng.setXmlSuites(List.of(suite));
+        testng.addListener(matrix);
+        testng.setVerbose(0);
+        testng.run();
+
+        Assert.assertEquals(Probe.BROWSERS.keySet(), Set.copyOf(browsers));
+        long lastStart = 0;
+        long firstEnd = Long.MAX_VALUE;
+        for (String browser : browsers) {
+            Assert.assertEquals(matrix.getStatus(Probe.class.getName() + ".slow", browser), "PASS", browser);
+            long[] span = matrix.getWallClock(browser);
+            lastStart = Math.max(lastStart, span[0]);
+            firstEnd = Math.min(firstEnd, span[1]);
+        }
+        // One after another, each browser would start after the previous one ended
+        Assert.assertTrue(lastStart < firstEnd, "Browsers should run side by side: the last started "
+            + (lastStart - firstEnd) + " ms after the first finished");
+        try (Stream<Path> files = Files.list(dir)) {
+            Assert.assertEquals(files.filter(f -> f.getFileName().toString().startsWith("browser-matrix-")).count(), 1L);
+        }
+    }
+
+    private static XmlSuite suite(boolean withHarnessTest) {
+        XmlSuite suite = new XmlSuite();
+        suite.setName("Matrix");
+        XmlTest probe = new XmlTest(suite);
+        probe.setName("Probe");
+        probe.setXmlClasses(List.of(new XmlClass(Probe.class)));
+        if (withHarnessTest) {
+            XmlTest other = new XmlTest(suite);
+            other.setName("Harness: Other");
+            other.addParameter("matrix", "false");
+            other.setXmlClasses(List.of(new XmlClass(Probe.class)));
+        }
+        return suite;
+    }
+
+    /**
+     * Stand-in for a browser test: records which browser parameter it got.
+     */
+    public static class Probe {
+        static final Map<String, Boolean> BROWSERS = new ConcurrentHashMap<>();
+
+        @Test
+        public void slow(ITestContext context) throws InterruptedException {
+            String browser = context.getCurrentXmlTest().getParameter("browser");
+            if (browser != null) {
+                BROWSERS.put(browser, true);
+            }
+            Thread.sleep(300);
+        }
+
+        @Test
+        public void slower() throws InterruptedException {
+            Thread.sleep(300);
+        }
+    }
+}
@@ -1,16 +1,19 @@
 package com.formaos.tests;
 
 import com.formaos.base.BaseTest;
+import com.formaos.pages.ElementState;
 import com.formaos.pages.HomePage;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.Map;
+
 public class CTATests extends BaseTest {
     
     @Test(description = "Verify Start Free Trial CTA from homepage")
     public void testStartFreeTrialFromHome() {
         navigateToHome();
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
         homePage.clickStartFreeTrial();
         waitForPageLoad();
@@ -18,13 +21,13 @@ public class CTATests extends BaseTest {
         Assert.assertTrue(getCurrentUrl().contains("/auth/signup"), 
             "Start Free Trial should navigate to signup");
         
-        System.out.println("✅ Start Free Trial CTA works from homepage");
+        log.info("✅ Start Free Trial CTA works from homepage");
     }
     
     @Test(description = "Verify Request Demo CTA from homepage")
     public void testRequestDemoFromHome() {
         navigateToHome();
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
         homePage.clickRequestDemo();
         waitForPageLoad();
@@ -32,13 +35,13 @@ public class CTATests extends BaseTest {
         Assert.assertTrue(getCurrentUrl().contains("/contact"), 
             "Request Demo should navigate to contact");
         
-        System.out.println("✅ Request Demo CTA works from homepage");
+        log.info("✅ Request Demo CTA works from homepage");
     }
     
     @Test(description = "Verify Login CTA from homepage")
     public void testLoginFromHome() {
         navigateToHome();
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         
         homePage.clickLogin();
         waitForPageLoad();
@@ -46,6 +49,25 @@ public class CTATests extends BaseTest {
         Assert.assertTrue(getCurrentUrl().contains("/auth/signin"), 
             "Login should navigate to signin");
         
-        System.out.println("✅ Login CTA works from homepage");
+        log.info("✅ Login CTA works from homepage");
+    }
+    
+    @Test(description = "Verify homepage CTAs are visible and point at signup/contact")
+    public void testHomepageCtaLayout() {
+        navigateToHome();
+        HomePage homePage = new HomePage(getDriver());
+        
+        // One round trip for every CTA and nav link
+        Map<String, ElementState> layout = homePage.getLayout();
+        log.info("Homepage layout: {}", layout.values());
+        
+        ElementState startFreeTrial = layout.get("startFreeTrial");
+        Assert.assertTrue(startFreeTrial.isVisible(), "Start Free Trial should be visible: " + startFreeTrial);
+        Assert.assertTrue(startFreeTrial.getAttribute("href").contains("/auth"), 
+            "Start Free Trial should link to signup: " + startFreeTrial);
+        ElementState requestDemo = layout.get("requestDemo");
+        Assert.assertTrue(requestDemo.isVisible(), "Request Demo should be visible: " + requestDemo);
+        
+        log.info("✅ Homepage CTA layout verified in one query");
     }
 }
@@ -0,0 +1,54 @@
+package com.formaos.tests;
+
+import com.formaos.utils.DriverResolver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Harness checks for offline driver resolution: the Selenium Manager cache
+ * is searched by version directory, matched to the installed browser.
+ */
+public class DriverResolverTest {
+
+    @Test(description = "Harness: the newest cached chromedriver for the browser's major version is chosen")
+    public void testMatchesBrowserMajor() throws Exception {
+        Path cache = cacheWith("119.0.6045.105", "120.0.6099.71", "120.0.6099.109", "121.0.6167.85");
+        File driver = DriverResolver.findInCache(cache, "chromedriver", "120");
+        Assert.assertEquals(driver.getParentFile().getName(), "120.0.6099.109");
+    }
+
+    @Test(description = "Harness: without a known browser version the highest version wins, not the newest file")
+    public void testHighestVersionWithoutBrowser() throws Exception {
+        Path cache = cacheWith("121.0.6167.85", "9.0.0.1");
+        File driver = DriverResolver.findInCache(cache, "chromedriver", null);
+        Assert.assertEquals(driver.getParentFile().getName(), "121.0.6167.85");
+    }
+
+    @Test(description = "Harness: a cache with no driver for the browser's major version fails clearly")
+    public void testNoMatchingMajor() throws Exception {
+        Path cache = cacheWith("119.0.6045.105", "121.0.6167.85");
+        IllegalStateException error = Assert.expectThrows(IllegalStateException.class,
+            () -> DriverResolver.findInCache(cache, "chromedriver", "120"));
+        Assert.assertTrue(error.getMessage().contains("version 120"), error.getMessage());
+        Assert.assertTrue(error.getMessage().contains("121.0.6167.85, 119.0.6045.105"), error.getMessage());
+    }
+
+    /**
+     * Cache laid out like Selenium Manager's, written oldest version last so
+     * modification times disagree with version order.
+     */
+    private static Path cacheWith(String... versions) throws Exception {
+        Path root = Files.createTempDirectory("driver-cache");
+        for (String version : versions) {
+            Path binary = Files.createDirectories(root.resolve("chromedriver/linux64/" + version))
+                .resolve("chromedriver");
+            Files.writeString(binary, "#!/bin/sh\n");
+            Assert.assertTrue(binary.toFile().setExecutable(true));
+        }
+        return root;
+    }
+}
@@ -0,0 +1,50 @@
+package com.formaos.tests;
+
+import com.formaos.utils.DurationScheduler;
+import com.formaos.utils.TestDurationHistory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Harness checks for the duration history and longest-first makespan
+ * prediction. No browser or app needed.
+ */
+public class DurationSchedulerTest {
+
+    @Test(description = "Harness: longest-first packing beats declared order on the same workers")
+    public void testLongestFirstMakespan() {
+        // Declared order puts the long test last: one worker is still busy long after the rest
+        List<Long> declared = List.of(10L, 10L, 10L, 10L, 10L, 10L, 40L);
+        List<Long> longestFirst = List.of(40L, 10L, 10L, 10L, 10L, 10L, 10L);
+
+        Assert.assertEquals(DurationScheduler.predictMakespan(declared, 3), 60L);
+        Assert.assertEquals(DurationScheduler.predictMakespan(longestFirst, 3), 40L);
+        Assert.assertEquals(DurationScheduler.predictMakespan(longestFirst, 1), 100L);
+    }
+
+    @Test(description = "Harness: history averages runs, estimates unknown methods and survives a round trip")
+    public void testHistoryEstimates() throws IOException {
+        Path file = Files.createTempDirectory("durations").resolve("history.json");
+        TestDurationHistory history = new TestDurationHistory(file, 0.5, 15000);
+
+        Assert.assertEquals(history.estimate("a.Foo.one"), 15000L, "Empty history should use the default");
+
+        history.record("a.Foo.one", 1000);
+        history.record("a.Foo.one", 3000);
+        history.record("a.Foo.two", 9000);
+        history.record("b.Bar.one", 100);
+        Assert.assertEquals(history.estimate("a.Foo.one"), 2000L, "Weighted average of the two runs");
+        Assert.assertEquals(history.estimate("a.Foo.three"), 9000L, "Unknown method uses its class median");
+        Assert.assertEquals(history.estimate("c.Baz.one"), 2000L, "Unknown class uses the overall median");
+
+        history.save();
+        TestDurationHistory reloaded = new TestDurationHistory(file, 0.5, 15000);
+        Assert.assertTrue(reloaded.isKnown("a.Foo.two"));
+        Assert.assertEquals(reloaded.estimate("a.Foo.one"), 2000L);
+    }
+}
@@ -0,0 +1,110 @@
+package com.formaos.tests;
+
+import com.formaos.utils.FixtureServer;
+import com.formaos.utils.Log;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Harness checks for record/replay: record through the proxy against a
+ * stub app, stop the app, and replay the same requests from the archive.
+ */
+public class FixtureServerTest {
+
+    private static final Logger LOG = Log.get(FixtureServerTest.class);
+
+    private static final HttpClient HTTP = HttpClient.newBuilder()
+        .followRedirects(HttpClient.Redirect.NEVER)
+        .build();
+
+    @Test(description = "Harness: recorded exchanges replay without the app, keyed on method, path and body")
+    public void testRecordThenReplay() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        HttpServer app = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        String appUrl = "http://localhost:" + app.getAddress().getPort();
+        app.createContext("/", exchange -> respond(exchange, 200, "home"));
+        app.createContext("/app", exchange -> {
+            exchange.getResponseHeaders().add("Location", appUrl + "/auth/signin?next=%2Fapp");
+            exchange.getResponseHeaders().add("Set-Cookie", "guard=1; Path=/");
+            respond(exchange, 307, "");
+        });
+        app.createContext("/api/count", exchange -> respond(exchange, 200, "n=" + counter.incrementAndGet()));
+        app.createContext("/api/echo", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            respond(exchange, 200, "echo:" + body);
+        });
+        app.start();
+
+        Path archive = Files.createTempDirectory("fixtures").resolve("suite.json.gz");
+        Set<String> ignored = Set.of("_rsc");
+        try (FixtureServer recorder = FixtureServer.record(appUrl, archive, 0, ignored)) {
+            String proxy = recorder.getUrl();
+            Assert.assertEquals(get(proxy + "/?_rsc=abc").body(), "home");
+            HttpResponse<String> redirect = get(proxy + "/app");
+            Assert.assertEquals(redirect.statusCode(), 307);
+            Assert.assertEquals(redirect.headers().firstValue("location").orElse(""), "/auth/signin?next=%2Fapp",
+                "Absolute redirects to the app should be rewritten onto the proxy");
+            Assert.assertEquals(get(proxy + "/api/count").body(), "n=1");
+            Assert.assertEquals(get(proxy + "/api/count").body(), "n=2");
+            Assert.assertEquals(post(proxy + "/api/echo", "{\"b\":2,\"a\":1}").body(), "echo:{\"b\":2,\"a\":1}");
+        } finally {
+            app.stop(0);
+        }
+        Assert.assertTrue(Files.size(archive) > 0);
+
+        try (FixtureServer replay = FixtureServer.replay(archive, 0, ignored)) {
+            String server = replay.getUrl();
+            long start = System.nanoTime();
+            Assert.assertEquals(get(server + "/?_rsc=other-cache-buster").body(), "home");
+            HttpResponse<String> redirect = get(server + "/app");
+            Assert.assertEquals(redirect.statusCode(), 307);
+            Assert.assertEquals(redirect.headers().firstValue("set-cookie").orElse(""), "guard=1; Path=/");
+            Assert.assertEquals(get(server + "/api/count").body(), "n=1");
+            Assert.assertEquals(get(server + "/api/count").body(), "n=2");
+            Assert.assertEquals(get(server + "/api/count").body(), "n=2", "Last response repeats");
+            // Same JSON, different key order
+            Assert.assertEquals(post(server + "/api/echo", "{\"a\":1, \"b\":2}").body(), "echo:{\"b\":2,\"a\":1}");
+            LOG.info("Replayed 6 requests in {} ms", (System.nanoTime() - start) / 1_000_000);
+
+            HttpResponse<String> missing = post(server + "/api/echo", "{\"a\":3}");
+            Assert.assertEquals(missing.statusCode(), 404);
+            Assert.assertEquals(replay.getUnmatched().size(), 1);
+            Assert.assertTrue(replay.getUnmatched().get(0).startsWith("POST /api/echo #"), replay.getUnmatched().toString());
+        }
+    }
+
+    private static HttpResponse<String> get(String url) throws Exception {
+        return HTTP.send(HttpRequest.newBuilder(URI.create(url)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> post(String url, String body) throws Exception {
+        return HTTP.send(HttpRequest.newBuilder(URI.create(url))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            exchange.getResponseBody().write(bytes);
+        }
+        exchange.close();
+    }
+}
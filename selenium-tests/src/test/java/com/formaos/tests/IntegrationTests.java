@@ -1,7 +1,12 @@
 package com.formaos.tests;
 
 import com.formaos.base.BaseTest;
+import com.formaos.base.TestTier;
+import com.formaos.base.Tier;
 import com.formaos.pages.HomePage;
+import com.formaos.utils.ApiContractProbe;
+import com.formaos.utils.RedirectChain;
+import com.formaos.utils.TestRouteMap;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -10,6 +15,7 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.List;
 
 /**
  * Audit 2026-08-02: five of the six tests in this class were
@@ -18,8 +24,8 @@ import java.time.Duration;
  * API routes, role-based permissions, billing/plan integration and
  * subscription feature gating while issuing no request at all.
  *
- * BaseTest provides no sign-in helper, so this harness can only observe the
- * unauthenticated surface. The two placeholders that genuinely required an
+ * These checks run without signing in (see BaseTest#signInAs), so they
+ * observe the unauthenticated surface. The two placeholders that genuinely required an
  * authenticated session with a manipulated subscription
  * (testTrialActivationDashboardAccess, testFeatureGatingBySubscription)
  * were removed rather than left as green no-ops; that behaviour is covered
@@ -38,6 +44,7 @@ public class IntegrationTests extends BaseTest {
         .build();
 
     private HttpResponse<String> getAnonymous(String path) throws Exception {
+        TestRouteMap.visit(baseUrl, path);
         HttpRequest request = HttpRequest.newBuilder()
             .uri(URI.create(baseUrl + path))
             .timeout(Duration.ofSeconds(20))
@@ -50,7 +57,7 @@ public class IntegrationTests extends BaseTest {
     @Test(description = "Verify Supabase auth integration with frontend")
     public void testSupabaseAuthFrontend() {
         navigateToHome();
-        HomePage homePage = new HomePage(driver);
+        HomePage homePage = new HomePage(getDriver());
         homePage.clickStartFreeTrial();
         waitForPageLoad();
         Assert.assertTrue(getCurrentUrl().contains("/auth/signup"), "Should navigate to signup page");
@@ -58,6 +65,7 @@ public class IntegrationTests extends BaseTest {
     }
 
     @Test(description = "Verify org-scoped API routes reject anonymous callers")
+    @TestTier(Tier.HTTP)
     public void testRLSApiEnforcement() throws Exception {
         String[] orgScopedRoutes = {
             "/api/v1/evidence",
@@ -81,25 +89,48 @@ public class IntegrationTests extends BaseTest {
         }
     }
 
+    @Test(description = "Verify every org-scoped API route in the contract matrix rejects anonymous callers")
+    @TestTier(Tier.HTTP)
+    public void testAnonymousApiContractMatrix() {
+        List<ApiContractProbe.RouteContract> routes =
+            ApiContractProbe.loadMatrix("contracts/anonymous-api-contracts.json");
+        ApiContractProbe probe = new ApiContractProbe(
+            HTTP, baseUrl, getConfig().getApiProbeConcurrency(), Duration.ofSeconds(20));
+        // Probes run on HttpClient threads, which TestRouteMap cannot attribute
+        routes.forEach(route -> TestRouteMap.visit(baseUrl, route.path));
+
+        long start = System.currentTimeMillis();
+        List<ApiContractProbe.ProbeResult> results = probe.probeAll(routes);
+        String report = ApiContractProbe.report(results);
+        log.info(report);
+        log.info("Probed {} routes in {} ms", routes.size(), System.currentTimeMillis() - start);
+
+        Assert.assertTrue(ApiContractProbe.failures(results).isEmpty(),
+            "SECURITY: anonymous API contract violated\n" + report);
+    }
+
     @Test(description = "Verify authenticated app surfaces are not reachable without a session")
+    @TestTier(Tier.HTTP)
     public void testRoleBasedUIPermissions() {
         String[] privatePaths = { "/app", "/app/team", "/app/settings", "/admin" };
 
         for (String path : privatePaths) {
-            navigateTo(path);
-            waitForPageLoad();
+            RedirectChain route = traceRoute(path);
+            String finalPath = route.getFinalPath();
 
-            String currentUrl = getCurrentUrl();
+            Assert.assertTrue(route.isComplete(), "Redirect loop for " + path + ":\n" + route);
             Assert.assertFalse(
-                currentUrl.endsWith(path) || currentUrl.contains(path + "?"),
-                "SECURITY: " + path + " rendered for an anonymous visitor at " + currentUrl);
+                finalPath.equals(path),
+                "SECURITY: " + path + " rendered for an anonymous visitor:\n" + route);
             Assert.assertTrue(
-                currentUrl.contains("/auth/signin") || currentUrl.contains("/unauthorized"),
-                "Anonymous visit to " + path + " should land on sign-in or /unauthorized but landed on " + currentUrl);
+                finalPath.startsWith("/auth/signin") || finalPath.startsWith("/unauthorized"),
+                "Anonymous visit to " + path + " should land on sign-in or /unauthorized but landed on "
+                    + route.getFinalUrl() + "\n" + route);
         }
     }
 
     @Test(description = "Verify billing/plan endpoints require an authenticated org context")
+    @TestTier(Tier.HTTP)
     public void testBillingPlanSchemaIntegration() throws Exception {
         HttpResponse<String> billing = getAnonymous("/api/billing");
         Assert.assertEquals(billing.statusCode(), 401,
@@ -0,0 +1,155 @@
+package com.formaos.tests;
+
+import com.formaos.load.LatencyHistogram;
+import com.formaos.load.LoadGenerator;
+import com.formaos.load.LoadReport;
+import com.formaos.load.LoadScenario;
+import com.formaos.utils.Log;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Harness checks for load mode against an embedded stub server, so they run
+ * without the app or a browser.
+ */
+public class LoadGeneratorTest {
+
+    private static final Logger LOG = Log.get(LoadGeneratorTest.class);
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private String baseUrl;
+
+    @BeforeClass
+    public void startStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverThreads = Executors.newFixedThreadPool(16);
+        server.createContext("/fast", exchange -> respond(exchange, 200, 0));
+        server.createContext("/slow", exchange -> respond(exchange, 200, 50));
+        server.createContext("/private", exchange -> respond(exchange, 401, 0));
+        // One request at a time, 100 ms each: capacity 10 rps
+        HttpServer serial = server;
+        server.createContext("/serial", exchange -> {
+            synchronized (serial) {
+                respond(exchange, 200, 100);
+            }
+        });
+        server.setExecutor(serverThreads);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopStubServer() {
+        if (server != null) {
+            server.stop(0);
+            serverThreads.shutdownNow();
+        }
+    }
+
+    @Test(description = "Harness: histogram percentiles stay within bucket precision")
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100_000; i++) {
+            histogram.record(i);
+        }
+
+        Assert.assertEquals(histogram.getCount(), 100_000);
+        assertWithin(histogram.getValueAtPercentile(50), 50_000, 0.02);
+        assertWithin(histogram.getValueAtPercentile(90), 90_000, 0.02);
+        assertWithin(histogram.getValueAtPercentile(99), 99_000, 0.02);
+        assertWithin(histogram.getValueAtPercentile(99.9), 99_900, 0.02);
+        Assert.assertEquals(histogram.getValueAtPercentile(100), 100_000);
+    }
+
+    @Test(description = "Harness: route mix, throughput and SLO evaluation against a stub")
+    public void testRouteMixAndSloBreach() {
+        LoadScenario scenario = scenario(2, 100,
+            route("fast", "/fast", 1, null, null),
+            route("slow", "/slow", 1, null, slo(10.0)),
+            route("private", "/private", 1, List.of(401), null));
+
+        LoadReport report = new LoadGenerator(baseUrl).run(scenario);
+        LOG.info(report.format());
+
+        LoadReport.RouteStats total = report.getTotal();
+        Assert.assertTrue(total.getLatency().getCount() >= 180 && total.getLatency().getCount() <= 220,
+            "Open model should issue ~200 requests, issued " + total.getLatency().getCount());
+        Assert.assertEquals(total.getErrors(), 0, "401 on /private is the expected status");
+        Assert.assertTrue(report.getRoutes().get("slow").getLatency().getValueAtPercentile(50) >= 50_000,
+            "Slow route latency should include the stub's 50 ms delay");
+
+        List<String> breaches = report.getSloBreaches();
+        Assert.assertEquals(breaches.size(), 1, "Only the slow route's p99 SLO should breach: " + breaches);
+        Assert.assertTrue(breaches.get(0).startsWith("slow p99"), breaches.get(0));
+        Assert.assertFalse(report.passed());
+    }
+
+    @Test(description = "Harness: latency is measured from intended send time, exposing queueing")
+    public void testCoordinatedOmissionIsCorrected() {
+        // 20 arrivals/s against a 10 rps server: the backlog grows for 2 s
+        LoadScenario scenario = scenario(2, 20, route("serial", "/serial", 1, null, null));
+
+        LoadReport report = new LoadGenerator(baseUrl).run(scenario);
+        LOG.info(report.format());
+
+        long p99 = report.getRoutes().get("serial").getLatency().getValueAtPercentile(99);
+        Assert.assertTrue(p99 > 1_000_000,
+            "A closed-model client would report ~100 ms; queueing delay must show in the tail, got "
+                + p99 / 1000 + " ms");
+    }
+
+    private static LoadScenario scenario(int seconds, double rate, LoadScenario.Route... routes) {
+        LoadScenario scenario = new LoadScenario();
+        scenario.name = "stub";
+        scenario.durationSeconds = seconds;
+        scenario.arrivalRatePerSecond = rate;
+        scenario.requestTimeoutSeconds = 10;
+        scenario.routes = List.of(routes);
+        return scenario;
+    }
+
+    private static LoadScenario.Route route(String name, String path, double weight,
+                                            List<Integer> expectedStatus, LoadScenario.Slo slo) {
+        LoadScenario.Route route = new LoadScenario.Route();
+        route.name = name;
+        route.path = path;
+        route.weight = weight;
+        route.expectedStatus = expectedStatus;
+        route.slo = slo;
+        return route;
+    }
+
+    private static LoadScenario.Slo slo(Double p99Ms) {
+        LoadScenario.Slo slo = new LoadScenario.Slo();
+        slo.p99Ms = p99Ms;
+        return slo;
+    }
+
+    private static void respond(HttpExchange exchange, int status, long delayMillis)
+            throws IOException {
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    private static void assertWithin(long actual, long expected, double tolerance) {
+        Assert.assertTrue(Math.abs(actual - expected) <= expected * tolerance,
+            "Expected " + expected + " +/- " + (tolerance * 100) + "% but was " + actual);
+    }
+}
@@ -0,0 +1,147 @@
+package com.formaos.tests;
+
+import com.formaos.pages.BasePage;
+import com.formaos.pages.PageElement;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ * Harness checks for cached page elements and round-trip counting, run
+ * against an in-memory fake driver (no browser needed).
+ */
+public class PageElementTest {
+
+    @Test(description = "Harness: cached handles cut repeat clicks to one command each")
+    public void testCachedClicksUseFewerCommands() {
+        FakeBrowser browser = new FakeBrowser();
+        ButtonPage page = new ButtonPage(browser.driver());
+
+        for (int i = 0; i < 10; i++) {
+            page.clickByLocator();
+        }
+        long uncached = page.resetRoundTrips();
+
+        for (int i = 0; i < 10; i++) {
+            page.button.click();
+        }
+        long cached = page.resetRoundTrips();
+
+        Assert.assertEquals(browser.clicks, 20);
+        Assert.assertEquals(uncached, 40, "find + displayed + enabled + click per wait-then-click");
+        Assert.assertEquals(cached, 12, "find + displayed once, then one click each");
+    }
+
+    @Test(description = "Harness: a stale cached handle is re-resolved and the action retried")
+    public void testStaleElementIsRecovered() {
+        FakeBrowser browser = new FakeBrowser();
+        ButtonPage page = new ButtonPage(browser.driver());
+
+        page.button.click();
+        browser.rerender();
+        page.button.click();
+
+        Assert.assertEquals(browser.clicks, 2);
+        Assert.assertEquals(browser.finds, 2, "One lookup before and one after the re-render");
+    }
+
+    @Test(description = "Harness: absence checks answer without waiting")
+    public void testAbsenceCheckDoesNotWait() {
+        FakeBrowser browser = new FakeBrowser();
+        ButtonPage page = new ButtonPage(browser.driver());
+
+        Assert.assertTrue(page.isAbsent(By.cssSelector("#missing")));
+        Assert.assertEquals(browser.implicitWaitMillisDuringLookup, 0L);
+        Assert.assertEquals(page.resetRoundTrips(), 3,
+            "implicitlyWait + findElements + implicitlyWait; manage() and timeouts() are local");
+    }
+
+    private static class ButtonPage extends BasePage {
+        final PageElement button = element(By.cssSelector("#go"));
+
+        ButtonPage(WebDriver driver) {
+            super(driver);
+        }
+
+        void clickByLocator() {
+            click(By.cssSelector("#go"));
+        }
+
+        boolean isAbsent(By locator) {
+            return isElementAbsent(locator);
+        }
+    }
+
+    /**
+     * A page with one button. rerender() invalidates every handle handed
+     * out so far, as a React re-render would.
+     */
+    private static class FakeBrowser {
+        int generation;
+        int clicks;
+        int finds;
+        long implicitWaitMillis = 10_000;
+        long implicitWaitMillisDuringLookup = -1;
+
+        void rerender() {
+            generation++;
+        }
+
+        WebDriver driver() {
+            Object timeouts = Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebDriver.Timeouts.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("implicitlyWait")) {
+                        implicitWaitMillis = ((java.time.Duration) args[0]).toMillis();
+                    }
+                    return proxy;
+                });
+            Object options = Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebDriver.Options.class}, (proxy, method, args) -> timeouts);
+            return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebDriver.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findElement":
+                            finds++;
+                            return element(generation);
+                        case "findElements":
+                            implicitWaitMillisDuringLookup = implicitWaitMillis;
+                            return ((By) args[0]).toString().contains("#go") ? List.of(element(generation)) : List.of();
+                        case "manage":
+                            return options;
+                        case "toString":
+                            return "FakeBrowser";
+                        default:
+                            return null;
+                    }
+                });
+        }
+
+        WebElement element(int created) {
+            return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebElement.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("toString")) {
+                        return "button#go";
+                    }
+                    if (created != generation) {
+                        throw new StaleElementReferenceException("stale");
+                    }
+                    switch (method.getName()) {
+                        case "click":
+                            clicks++;
+                            return null;
+                        case "isDisplayed":
+                        case "isEnabled":
+                            return true;
+                        default:
+                            return null;
+                    }
+                });
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.formaos.tests;
+
+import com.formaos.utils.ConfigReader;
+import com.formaos.utils.DriverFactory;
+import com.formaos.utils.DriverManager;
+import com.formaos.utils.Log;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Harness check for the per-thread driver holder. N workers acquire drivers
+ * at the same time, each stamps its own browser tab, and all of them then
+ * read back only their own stamp. Any shared driver, shared thread-local or
+ * shared evidence directory shows up as a duplicate or a foreign stamp.
+ *
+ * Needs a browser but not the app: it only uses about:blank.
+ */
+public class ParallelIsolationStressTest {
+
+    private static final Logger LOG = Log.get(ParallelIsolationStressTest.class);
+
+    @Test(description = "Harness: N parallel threads get N isolated browser sessions")
+    public void testParallelThreadsGetIsolatedSessions() throws Exception {
+        ConfigReader config = new ConfigReader();
+        int workers = Math.max(1, Math.min(config.getThreadCount(), config.getDriverPoolMaxSize()));
+        CyclicBarrier acquired = new CyclicBarrier(workers);
+        CyclicBarrier stamped = new CyclicBarrier(workers);
+        Set<String> sessionIds = ConcurrentHashMap.newKeySet();
+        Set<Path> evidenceDirs = ConcurrentHashMap.newKeySet();
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            results.add(pool.submit(() -> {
+                WebDriver driver = DriverFactory.getDriver(config.getBrowser());
+                DriverManager.setDriver(driver);
+                try {
+                    String marker = "worker-" + Thread.currentThread().getId();
+                    acquired.await(2, TimeUnit.MINUTES);
+
+                    driver.get("about:blank");
+                    ((JavascriptExecutor) DriverManager.getDriver())
+                        .executeScript("window.name = arguments[0];", marker);
+                    stamped.await(1, TimeUnit.MINUTES);
+
+                    Object seen = ((JavascriptExecutor) DriverManager.getDriver())
+                        .executeScript("return window.name;");
+                    Assert.assertSame(DriverManager.getDriver(), driver,
+                        "Thread-local driver changed under " + marker);
+                    Assert.assertEquals(seen, marker, "Cross-talk: another thread wrote into " + marker);
+
+                    sessionIds.add(((RemoteWebDriver) driver).getSessionId().toString());
+                    evidenceDirs.add(DriverManager.getEvidenceDir());
+                    return marker;
+                } finally {
+                    DriverManager.removeDriver();
+                    DriverFactory.releaseDriver(driver);
+                }
+            }));
+        }
+
+        try {
+            for (Future<String> result : results) {
+                result.get(5, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Assert.assertEquals(sessionIds.size(), workers, "Each worker should own a distinct session");
+        Assert.assertEquals(evidenceDirs.size(), workers, "Each worker should have its own evidence directory");
+        LOG.info("✅ {} parallel workers ran on {} isolated sessions", workers, sessionIds.size());
+    }
+}
@@ -0,0 +1,114 @@
+package com.formaos.tests;
+
+import com.formaos.utils.ConfigReader;
+import com.formaos.utils.Log;
+import com.formaos.utils.RetryAnalyzer;
+import com.formaos.utils.RetryListener;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.testng.Assert;
+import org.testng.IAnnotationTransformer;
+import org.testng.TestNG;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.net.ConnectException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Harness checks for infrastructure-aware retries: which failures are
+ * retried, how often, and how retries are reported.
+ */
+public class RetryAnalyzerTest {
+
+    private static final Logger LOG = Log.get(RetryAnalyzerTest.class);
+
+    @Test(description = "Harness: infrastructure failures are told apart from real ones")
+    public void testClassifiesFailures() {
+        Assert.assertEquals(RetryAnalyzer.infrastructureCause(new SessionNotCreatedException("no chrome")),
+            "session not created");
+        Assert.assertEquals(RetryAnalyzer.infrastructureCause(new RuntimeException(new ConnectException())),
+            "connection refused");
+        Assert.assertEquals(RetryAnalyzer.infrastructureCause(
+            new WebDriverException("unknown error: net::ERR_CONNECTION_REFUSED")), "connection refused");
+        Assert.assertEquals(RetryAnalyzer.infrastructureCause(
+            new TimeoutException("timeout: Timed out receiving message from renderer: 30.000")), "navigation timeout");
+        Assert.assertNull(RetryAnalyzer.infrastructureCause(
+            new TimeoutException("Expected condition failed: waiting for url to contain \"/auth\"")));
+        Assert.assertNull(RetryAnalyzer.infrastructureCause(new AssertionError("expected [200] but found [500]")));
+        Assert.assertNull(RetryAnalyzer.infrastructureCause(new IllegalStateException("No WebDriver on this thread")));
+    }
+
+    @Test(description = "Harness: only infrastructure failures are retried, and retries are reported apart")
+    public void testRetriesInfrastructureOnly() throws Exception {
+        Probe.FLAKY.set(0);
+        Probe.ASSERTING.set(0);
+        Probe.DOWN.set(0);
+        Path dir = Files.createTempDirectory("retries");
+        RetryListener listener = new RetryListener(dir);
+        TestNG testng = new TestNG(false);
+        testng.setTestClasses(new Class[] {Probe.class});
+        testng.addListener(listener);
+        // TestNG keeps a single annotation transformer: enable the probe, then retry as usual
+        testng.addListener(new IAnnotationTransformer() {
+            @Override
+            @SuppressWarnings("rawtypes")
+            public void transform(ITestAnnotation annotation, Class testClass, Constructor constructor, Method method) {
+                annotation.setEnabled(true);
+                listener.transform(annotation, testClass, constructor, method);
+            }
+        });
+        testng.setVerbose(0);
+        testng.run();
+
+        int maxRetries = new ConfigReader().getMaxRetryCount();
+        LOG.info(listener.summary());
+        Assert.assertEquals(Probe.FLAKY.get(), 2);
+        Assert.assertEquals(Probe.ASSERTING.get(), 1);
+        Assert.assertEquals(Probe.DOWN.get(), 1 + maxRetries);
+        Assert.assertEquals(listener.getFirstAttemptPasses(), 1);
+        Assert.assertEquals(listener.getOutcome(Probe.class.getName() + ".sessionFailsOnce"), "passed on retry");
+        Assert.assertEquals(listener.getOutcome(Probe.class.getName() + ".appIsDown"), "failed after retries");
+        Assert.assertNull(listener.getOutcome(Probe.class.getName() + ".assertionFails"));
+        try (Stream<Path> files = Files.list(dir)) {
+            Assert.assertEquals(files.filter(f -> f.getFileName().toString().startsWith("retries-")).count(), 1L);
+        }
+    }
+
+    /**
+     * Disabled so the enclosing suite does not pick it up; the nested run
+     * enables it.
+     */
+    @Test(enabled = false)
+    public static class Probe {
+        static final AtomicInteger FLAKY = new AtomicInteger();
+        static final AtomicInteger ASSERTING = new AtomicInteger();
+        static final AtomicInteger DOWN = new AtomicInteger();
+
+        public void passes() {
+        }
+
+        public void sessionFailsOnce() {
+            if (FLAKY.incrementAndGet() == 1) {
+                throw new SessionNotCreatedException("session not created: Chrome failed to start");
+            }
+        }
+
+        public void assertionFails() {
+            ASSERTING.incrementAndGet();
+            Assert.assertEquals(500, 200);
+        }
+
+        public void appIsDown() throws Exception {
+            DOWN.incrementAndGet();
+            throw new ConnectException("Connection refused");
+        }
+    }
+}
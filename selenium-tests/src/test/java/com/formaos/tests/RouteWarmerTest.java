@@ -0,0 +1,92 @@
+package com.formaos.tests;
+
+import com.formaos.utils.Log;
+import com.formaos.utils.RedirectTracer;
+import com.formaos.utils.RouteWarmer;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Harness checks for the suite warm-up: route discovery from source and
+ * warming a stub app whose routes are slow until they have been compiled.
+ */
+public class RouteWarmerTest {
+
+    private static final Logger LOG = Log.get(RouteWarmerTest.class);
+
+    @Test(description = "Harness: routes are discovered from navigation calls and page-object hrefs")
+    public void testRouteDiscovery() {
+        String source = String.join("\n",
+            "navigateTo(\"/auth/signin\");",
+            "navigateTo(\"/accept-invite/\" + token);",
+            "RedirectChain chain = traceRoute(\"/pricing\");",
+            "traceRouteAs(\"employer\", \"/app/team\");",
+            "By link = By.cssSelector(\"a[href='/contact']\");",
+            "Assert.assertTrue(url.contains(\"/signup\"));");
+        Assert.assertEquals(RouteWarmer.routesIn(source),
+            new TreeSet<>(List.of("/auth/signin", "/accept-invite/warmup", "/pricing", "/app/team", "/contact")));
+    }
+
+    @Test(description = "Harness: every route is hit until it answers fast twice in a row")
+    public void testWarmsColdRoutes() throws Exception {
+        Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+        HttpServer app = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        app.setExecutor(threads);
+        app.createContext("/", exchange -> {
+            int hit = hits.computeIfAbsent(exchange.getRequestURI().getPath(), k -> new AtomicInteger())
+                .incrementAndGet();
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                // First request "compiles" the route
+                Thread.sleep(hit == 1 ? 400 : 5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            exchange.sendResponseHeaders(exchange.getRequestURI().getPath().equals("/broken") ? 500 : 200, -1);
+            exchange.close();
+        });
+        app.start();
+        try {
+            String baseUrl = "http://localhost:" + app.getAddress().getPort();
+            List<RouteWarmer.Result> results = RouteWarmer.warm(baseUrl, Set.of("/", "/a", "/b", "/c", "/broken"),
+                8, 200, 5, Duration.ofSeconds(30), new RedirectTracer(5, Duration.ofSeconds(5)));
+            LOG.info(RouteWarmer.report(results));
+
+            Assert.assertEquals(results.size(), 5);
+            for (RouteWarmer.Result result : results) {
+                if (result.route.equals("/broken")) {
+                    Assert.assertFalse(result.stable, "A 5xx route is never stable");
+                    Assert.assertEquals(result.attempts, 5);
+                } else {
+                    Assert.assertTrue(result.stable, result.route + " should be stable");
+                    Assert.assertEquals(result.attempts, 3, "slow, fast, fast");
+                    Assert.assertTrue(result.firstMillis >= 400, "first hit paid the compile");
+                }
+            }
+            // Measured at the server, so a slow runner cannot fail it
+            Assert.assertTrue(peakInFlight.get() > 1,
+                "Routes should warm concurrently, peak requests in flight was " + peakInFlight.get());
+        } finally {
+            app.stop(0);
+            threads.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.formaos.tests;
+
+import com.formaos.utils.ScreencastBuffer;
+import com.formaos.utils.ScreencastRecorder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+/**
+ * Harness checks for the failure screencast: the ring buffer stays within
+ * its frame and byte limits, and buffered frames encode to an animated GIF.
+ */
+public class ScreencastBufferTest {
+
+    @Test(description = "Harness: the ring keeps only the newest frames within its frame and byte limits")
+    public void testRingIsBounded() {
+        ScreencastBuffer buffer = new ScreencastBuffer(5, 1000, 10_000);
+        for (int i = 0; i < 50; i++) {
+            buffer.add(new ScreencastBuffer.Frame(i * 100L, new byte[100]));
+        }
+        Assert.assertEquals(buffer.size(), 5, "Frame limit");
+        Assert.assertEquals(buffer.snapshot().get(0).getMillis(), 4500L, "Oldest frames are overwritten");
+
+        for (int i = 0; i < 10; i++) {
+            buffer.add(new ScreencastBuffer.Frame(5000 + i * 100L, new byte[300]));
+        }
+        Assert.assertTrue(buffer.getBytes() <= 1000, "Byte limit, held " + buffer.getBytes());
+        Assert.assertEquals(buffer.size(), 3);
+
+        buffer.add(new ScreencastBuffer.Frame(7000, new byte[2000]));
+        Assert.assertEquals(buffer.getDropped(), 1, "A frame over the whole budget is dropped");
+        Assert.assertEquals(buffer.size(), 3);
+
+        buffer.clear();
+        Assert.assertEquals(buffer.size(), 0);
+        Assert.assertEquals(buffer.getBytes(), 0);
+    }
+
+    @Test(description = "Harness: only the last window of seconds is kept for the failure")
+    public void testSnapshotWindow() {
+        ScreencastBuffer buffer = new ScreencastBuffer(100, 1_000_000, 2000);
+        for (int i = 0; i <= 10; i++) {
+            buffer.add(new ScreencastBuffer.Frame(i * 1000L, new byte[10]));
+        }
+        List<ScreencastBuffer.Frame> frames = buffer.snapshot();
+        Assert.assertEquals(frames.size(), 3);
+        Assert.assertEquals(frames.get(0).getMillis(), 8000L);
+    }
+
+    @Test(description = "Harness: buffered JPEG frames encode to a looping animated GIF")
+    public void testEncodeGif() throws Exception {
+        ScreencastBuffer buffer = new ScreencastBuffer(10, 1_000_000, 10_000);
+        Color[] colors = {Color.RED, Color.GREEN, Color.BLUE, Color.WHITE};
+        for (int i = 0; i < colors.length; i++) {
+            buffer.add(new ScreencastBuffer.Frame(i * 250L, jpeg(colors[i])));
+        }
+
+        byte[] gif = ScreencastRecorder.encodeGif(buffer.snapshot());
+        Assert.assertEquals(new String(gif, 0, 6, "US-ASCII"), "GIF89a");
+        ImageReader reader = ImageIO.getImageReadersByFormatName("gif").next();
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(gif))) {
+            reader.setInput(in);
+            Assert.assertEquals(reader.getNumImages(true), colors.length);
+            Assert.assertEquals(reader.read(0).getWidth(), 64);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    private static byte[] jpeg(Color color) throws Exception {
+        BufferedImage image = new BufferedImage(64, 40, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, 64, 40);
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,150 @@
+package com.formaos.tests;
+
+import com.formaos.utils.ConfigReader;
+import com.formaos.utils.Log;
+import com.formaos.utils.ReportRenderer;
+import com.formaos.utils.StreamingReporter;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.IAnnotationTransformer;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+import org.testng.TestNG;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.annotations.Test;
+import org.w3c.dom.Document;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Harness checks for the streaming reporter: results land in the JSONL
+ * stream as they finish and render to JUnit XML and HTML, also from the
+ * partial stream of a crashed run.
+ */
+public class StreamingReporterTest {
+
+    private static final Logger LOG = Log.get(StreamingReporterTest.class);
+
+    @Test(description = "Harness: results stream as they finish and render to JUnit XML and HTML")
+    public void testStreamsAndRenders() throws Exception {
+        // A temp dir keeps the probe's deliberate failure out of the suite's own reports
+        Path dir = Files.createTempDirectory("streaming-report");
+        StreamingReporter reporter = new StreamingReporter(dir);
+        TestNG testng = new TestNG(false);
+        testng.setTestClasses(new Class[] {Probe.class});
+        testng.addListener(reporter);
+        testng.addListener(new IAnnotationTransformer() {
+            @Override
+            @SuppressWarnings("rawtypes")
+            public void transform(ITestAnnotation annotation, Class testClass, Constructor constructor, Method method) {
+                annotation.setEnabled(true);
+            }
+        });
+        testng.setVerbose(0);
+        testng.run();
+
+        Path stream = reporter.getStreamFile();
+        Assert.assertEquals(stream.getParent(), dir);
+        List<String> lines = Files.readAllLines(stream);
+        LOG.info("Streamed {} lines to {}", lines.size(), stream);
+        Assert.assertEquals(reporter.getDone(), 3);
+        Assert.assertEquals(lines.stream().filter(l -> l.contains("\"type\":\"result\"")).count(), 3);
+        Assert.assertTrue(lines.stream().anyMatch(l -> l.contains("\"type\":\"evidence\"")
+            && l.contains(Probe.SCREENSHOT.toString().replace("\\", "\\\\"))));
+        Assert.assertTrue(Files.exists(stream.resolveSibling("progress.json")));
+
+        Path junit = stream.resolveSibling(stream.getFileName().toString()
+            .replace("results-", "junit-").replace(".jsonl", ".xml"));
+        Document xml = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(junit.toFile());
+        Assert.assertEquals(xml.getElementsByTagName("testcase").getLength(), 3);
+        Assert.assertEquals(xml.getElementsByTagName("failure").getLength(), 1);
+        Assert.assertEquals(xml.getElementsByTagName("skipped").getLength(), 1);
+
+        String html = Files.readString(stream.resolveSibling(new ConfigReader().getExtentReportName()),
+            StandardCharsets.UTF_8);
+        Assert.assertTrue(html.contains("fails"));
+        // Evidence is linked by path, not inlined
+        Assert.assertTrue(html.contains(Probe.SCREENSHOT.getFileName().toString()));
+        Assert.assertFalse(html.contains("data:image/png;base64"));
+    }
+
+    @Test(description = "Harness: the progress total counts only the methods left after interception")
+    public void testTotalFollowsInterceptors() throws Exception {
+        StreamingReporter reporter = new StreamingReporter(Files.createTempDirectory("intercepted-report"));
+        TestNG testng = new TestNG(false);
+        testng.setTestClasses(new Class[] {Probe.class});
+        // Stands in for TestImpactSelector, which is registered ahead of the reporter
+        testng.addListener((IMethodInterceptor) (methods, context) -> methods.stream()
+            .filter(m -> !m.getMethod().getMethodName().equals("skipped"))
+            .collect(Collectors.toList()));
+        testng.addListener(reporter);
+        testng.addListener(new IAnnotationTransformer() {
+            @Override
+            @SuppressWarnings("rawtypes")
+            public void transform(ITestAnnotation annotation, Class testClass, Constructor constructor, Method method) {
+                annotation.setEnabled(true);
+            }
+        });
+        testng.setVerbose(0);
+        testng.run();
+
+        Assert.assertEquals(reporter.getDone(), 2);
+        Assert.assertEquals(reporter.getTotal(), 2, "Filtered methods are not counted as planned");
+    }
+
+    @Test(description = "Harness: a crashed run's partial stream still renders")
+    public void testRendersPartialStream() throws Exception {
+        Path dir = Files.createTempDirectory("partial-report");
+        Path stream = dir.resolve("results-crashed.jsonl");
+        Files.writeString(stream, String.join("\n",
+            "{\"type\":\"result\",\"id\":1,\"suite\":\"CTA Tests\",\"class\":\"a.B\",\"method\":\"one\","
+                + "\"status\":\"PASS\",\"attempt\":1,\"startMs\":1000,\"durationMs\":1500}",
+            "{\"type\":\"result\",\"id\":2,\"suite\":\"CTA Tests\",\"class\":\"a.B\",\"method\":\"two\","
+                + "\"status\":\"FAIL\",\"errorType\":\"java.lang.AssertionError\",\"errorMessage\":\"<b>&\","
+                + "\"stackTrace\":\"at a.B\",\"startMs\":2600,\"durationMs\":200}",
+            "{\"type\":\"result\",\"id\":3,\"suite\":\"CTA Te"));
+
+        ReportRenderer.Rendered rendered = ReportRenderer.render(stream, dir, "report.html");
+        Document xml = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(rendered.getJunitXml().toFile());
+        Assert.assertEquals(xml.getElementsByTagName("testcase").getLength(), 2);
+        Assert.assertEquals(xml.getDocumentElement().getFirstChild().getAttributes()
+            .getNamedItem("time").getNodeValue(), "1.700");
+        Assert.assertTrue(Files.size(rendered.getHtml()) > 0);
+    }
+
+    /**
+     * Disabled so the enclosing suite does not pick it up; the nested run
+     * enables it.
+     */
+    @Test(enabled = false)
+    public static class Probe {
+        static final Path SCREENSHOT = Path.of("test-results", "screenshots", "probe", "fails_1.png");
+
+        public void passes() {
+        }
+
+        public void fails() {
+            Assert.fail("expected failure");
+        }
+
+        public void skipped() {
+            throw new SkipException("not applicable");
+        }
+
+        @AfterMethod
+        public void evidence(ITestResult result) {
+            if (result.getStatus() == ITestResult.FAILURE) {
+                StreamingReporter.evidence(result, "screenshot", SCREENSHOT.toString());
+            }
+        }
+    }
+}
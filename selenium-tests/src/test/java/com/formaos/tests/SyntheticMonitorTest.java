@@ -0,0 +1,85 @@
+package com.formaos.tests;
+
+import com.formaos.monitor.Journeys;
+import com.formaos.monitor.SyntheticJourney;
+import com.formaos.monitor.SyntheticMonitor;
+import com.formaos.utils.ConfigReader;
+import com.formaos.utils.Log;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+/**
+ * Harness checks for monitor mode: HTTP journeys against a stub app,
+ * scraped over the OpenMetrics endpoint.
+ */
+public class SyntheticMonitorTest {
+
+    private static final Logger LOG = Log.get(SyntheticMonitorTest.class);
+
+    @Test(description = "Harness: journey steps are exposed as OpenMetrics histograms and counters")
+    public void testMetricsEndpoint() throws Exception {
+        HttpServer app = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        String appUrl = "http://localhost:" + app.getAddress().getPort();
+        app.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            int status = 200;
+            if (path.equals("/app")) {
+                exchange.getResponseHeaders().add("Location", "/auth/signin?next=%2Fapp");
+                status = 307;
+            } else if (path.startsWith("/api/v1/")) {
+                status = 401;
+            }
+            // /api/onboarding-state answers 200: a rejection failure to count
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        app.start();
+
+        ConfigReader config = new ConfigReader();
+        SyntheticJourney redirect = Journeys.create("signin-redirect", config);
+        SyntheticJourney api = Journeys.create("anonymous-api", config);
+        try (SyntheticMonitor monitor = new SyntheticMonitor(appUrl, List.of(redirect, api))) {
+            monitor.serve("127.0.0.1", 0);
+            for (int i = 0; i < 5; i++) {
+                Assert.assertTrue(monitor.runOnce(redirect));
+                Assert.assertFalse(monitor.runOnce(api));
+            }
+
+            HttpResponse<String> scrape = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + monitor.getPort() + "/metrics")).build(),
+                HttpResponse.BodyHandlers.ofString());
+            String body = scrape.body();
+            LOG.info(body);
+            Assert.assertTrue(scrape.headers().firstValue("content-type").orElse("")
+                .startsWith("application/openmetrics-text"));
+            Assert.assertTrue(body.endsWith("# EOF\n"));
+            Assert.assertTrue(body.contains(
+                "formaos_journey_step_seconds_count{journey=\"signin-redirect\",step=\"redirect\"} 5"));
+            Assert.assertTrue(body.contains(
+                "formaos_journey_step_seconds_bucket{journey=\"signin-redirect\",step=\"redirect\",le=\"+Inf\"} 5"));
+            Assert.assertTrue(body.contains(
+                "formaos_journey_step_total{journey=\"anonymous-api\",step=\"/api/onboarding-state\",result=\"failure\"} 5"));
+            Assert.assertTrue(body.contains(
+                "formaos_journey_step_total{journey=\"anonymous-api\",step=\"/api/v1/tasks\",result=\"success\"} 5"));
+            Assert.assertTrue(body.contains("formaos_journey_run_total{journey=\"anonymous-api\",result=\"failure\"} 5"));
+
+            // The series set is fixed: more runs change numbers, not lines
+            int lines = body.split("\n").length;
+            for (int i = 0; i < 200; i++) {
+                monitor.runOnce(redirect);
+            }
+            Assert.assertEquals(monitor.getMetrics().render().split("\n").length, lines);
+        } finally {
+            app.stop(0);
+        }
+    }
+}
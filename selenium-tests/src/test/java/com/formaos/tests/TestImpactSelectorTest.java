@@ -0,0 +1,80 @@
+package com.formaos.tests;
+
+import com.formaos.utils.Log;
+import com.formaos.utils.RouteScope;
+import com.formaos.utils.TestImpactSelector;
+import com.formaos.utils.TestRouteMap;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Harness checks for route-level test impact analysis: mapping changed app
+ * files to routes and choosing which methods to run.
+ */
+public class TestImpactSelectorTest {
+
+    private static final Logger LOG = Log.get(TestImpactSelectorTest.class);
+
+    @Test(description = "Harness: changed app files map to the routes Next.js serves them on")
+    public void testRouteScopes() {
+        RouteScope pricing = RouteScope.of("app/(marketing)/pricing/page.tsx", "app");
+        Assert.assertTrue(pricing.matches("/pricing"));
+        Assert.assertFalse(pricing.matches("/pricing/enterprise"));
+
+        RouteScope authLayout = RouteScope.of("app/auth/layout.tsx", "app");
+        Assert.assertTrue(authLayout.matches("/auth/signin"));
+        Assert.assertTrue(authLayout.matches("/auth"));
+        Assert.assertFalse(authLayout.matches("/app"));
+
+        RouteScope invite = RouteScope.of("app/invite/[token]/page.tsx", "app");
+        Assert.assertTrue(invite.matches("/invite/abc123"));
+        Assert.assertFalse(invite.matches("/invite"));
+
+        Assert.assertTrue(RouteScope.of("app/docs/[...slug]/page.tsx", "app").matches("/docs/a/b"));
+        Assert.assertFalse(RouteScope.of("app/docs/[...slug]/page.tsx", "app").matches("/docs"));
+        Assert.assertTrue(RouteScope.of("app/shop/[[...slug]]/page.tsx", "app").matches("/shop"));
+        Assert.assertTrue(RouteScope.of("app/api/v1/tasks/route.ts", "app").matches("/api/v1/tasks"));
+        Assert.assertTrue(RouteScope.of("app/auth/_components/Form.tsx", "app").matches("/auth/signup"));
+        Assert.assertTrue(RouteScope.of("app/layout.tsx", "app").matches("/anything"));
+        Assert.assertNull(RouteScope.of("lib/supabase.ts", "app"));
+    }
+
+    @Test(description = "Harness: selection keeps affected, smoke and unknown methods and explains why")
+    public void testSelection() throws Exception {
+        Path file = Files.createTempFile("test-routes", ".json");
+        Files.delete(file);
+        TestRouteMap routeMap = new TestRouteMap(file);
+        routeMap.update(Set.of("a.Pricing.test", "a.Auth.test", "a.Smoke.test", "a.Empty.test"), Map.of(
+            "a.Pricing.test", Set.of("/", "/pricing"),
+            "a.Auth.test", Set.of("/auth/signin"),
+            "a.Smoke.test", Set.of("/")));
+        routeMap.save();
+        routeMap = new TestRouteMap(file);
+
+        List<String> methods = List.of("a.Pricing.test", "a.Auth.test", "a.Smoke.test", "a.New.test",
+            "a.Empty.test");
+        Map<String, String> reasons = TestImpactSelector.select(methods,
+            List.of("app/(marketing)/pricing/page.tsx", "README.md"), routeMap,
+            List.of("a.Smoke"), List.of("app"), List.of("*.md"));
+        LOG.info(reasons);
+        Assert.assertTrue(reasons.get("a.Pricing.test").startsWith("visits /pricing"));
+        Assert.assertFalse(reasons.containsKey("a.Auth.test"));
+        Assert.assertEquals(reasons.get("a.Smoke.test"), "smoke set");
+        Assert.assertEquals(reasons.get("a.New.test"), "no route history yet");
+        // Ran before but recorded nothing: not evidence that it is unaffected
+        Assert.assertEquals(reasons.get("a.Empty.test"), "no route history yet");
+
+        // A change outside the route tree (shared lib, config) can affect anything
+        reasons = TestImpactSelector.select(methods, List.of("lib/supabase.ts"), routeMap,
+            List.of(), List.of("app"), List.of("*.md"));
+        Assert.assertEquals(reasons.keySet(), Set.copyOf(methods));
+        Files.deleteIfExists(file);
+    }
+}